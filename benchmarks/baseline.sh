@@ -0,0 +1,33 @@
+#!/bin/sh
+# Records a JMH baseline of the event handlers, or compares a new run against it.
+#
+# Usage: ./baseline.sh record             Builds the plugin and benchmarks, and writes baseline.csv.
+#        ./baseline.sh compare [threshold] Writes result.csv and compares it against baseline.csv.
+#
+# Baselines depend on the machine they were recorded on, so they are not checked in.
+set -eu
+cd "$(dirname "$0")"
+
+mode="${1:-record}"
+case "$mode" in
+    record | compare) ;;
+    *)
+        echo "Usage: $0 record | compare [threshold]" >&2
+        exit 2
+        ;;
+esac
+if [ "$mode" = compare ] && [ ! -f baseline.csv ]; then
+    echo "No baseline.csv found; run \"$0 record\" first." >&2
+    exit 2
+fi
+
+(cd .. && mvn -B -q install)
+mvn -B -q package
+
+if [ "$mode" = record ]; then
+    java -jar target/benchmarks.jar -prof gc -rf csv -rff baseline.csv
+    echo "Recorded baseline.csv."
+else
+    java -jar target/benchmarks.jar -prof gc -rf csv -rff result.csv
+    java -cp target/benchmarks.jar dev.satyrn.archersofdecay.benchmark.BaselineComparison baseline.csv result.csv ${2:+"$2"}
+fi
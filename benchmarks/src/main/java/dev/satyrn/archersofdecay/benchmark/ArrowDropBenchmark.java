@@ -0,0 +1,130 @@
+package dev.satyrn.archersofdecay.benchmark;
+
+import dev.satyrn.archersofdecay.event.ArrowDropEvents;
+import dev.satyrn.archersofdecay.event.Fixture;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.entity.EntityType;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.inventory.EntityEquipment;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static dev.satyrn.archersofdecay.benchmark.Stubs.stub;
+
+/**
+ * Benchmarks the arrow drop rolled when a wither skeleton dies, with and without a Looting kill.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArrowDropBenchmark {
+    // The handler under test.
+    private ArrowDropEvents handler;
+    // A skeleton dying.
+    private EntityDeathEvent skeletonDeath;
+    // A wither skeleton dying without a Looting kill.
+    private EntityDeathEvent death;
+    // A wither skeleton killed by a player holding a Looting III sword.
+    private EntityDeathEvent lootingDeath;
+
+    /**
+     * Builds the handler and events.
+     *
+     * @since 1.1.0
+     */
+    @Setup
+    public void setup() {
+        final @NotNull Fixture fixture = new Fixture();
+        this.handler = fixture.arrowDropEvents();
+        final @NotNull EntityEquipment archerEquipment = stub(EntityEquipment.class, "getItemInMainHand", new ItemStack(Material.BOW));
+        final @NotNull Location location = new Location(fixture.nether, 8.5D, 64D, 8.5D);
+        final @NotNull StubLivingEntity skeleton = Stubs.create(StubLivingEntity.class, EntityType.SKELETON, 1, fixture.nether, location);
+        final @NotNull StubLivingEntity archer = Stubs.create(StubWitherSkeleton.class, 2, fixture.nether, location);
+        archer.setEquipment(archerEquipment);
+        final @NotNull StubLivingEntity player = Stubs.create(StubLivingEntity.class, EntityType.PLAYER, 3, fixture.nether, location);
+        player.setEquipment(stub(EntityEquipment.class,
+                "getItemInMainHand", new LootingSword(),
+                "getItemInOffHand", new ItemStack(Material.AIR)));
+        final @NotNull StubLivingEntity lootingArcher = Stubs.create(StubWitherSkeleton.class, 4, fixture.nether, location);
+        lootingArcher.setEquipment(archerEquipment);
+        lootingArcher.setLastDamageCause(new EntityDamageByEntityEvent(player, lootingArcher, EntityDamageEvent.DamageCause.ENTITY_ATTACK, 1D));
+        this.skeletonDeath = new EntityDeathEvent(skeleton, new ArrayList<>());
+        this.death = new EntityDeathEvent(archer, new ArrayList<>());
+        this.lootingDeath = new EntityDeathEvent(lootingArcher, new ArrayList<>());
+    }
+
+    /**
+     * A skeleton dying, rejected by the type filter.
+     *
+     * @return The event, so the call is not eliminated.
+     * @since 1.1.0
+     */
+    @Benchmark
+    public EntityDeathEvent rejectedEntityType() {
+        this.handler.onWitherSkeletonDeath(this.skeletonDeath);
+        return this.skeletonDeath;
+    }
+
+    /**
+     * A wither skeleton dying without a Looting kill.
+     *
+     * @return The event, so the call is not eliminated.
+     * @since 1.1.0
+     */
+    @Benchmark
+    public EntityDeathEvent drop() {
+        this.death.getDrops().clear();
+        this.handler.onWitherSkeletonDeath(this.death);
+        return this.death;
+    }
+
+    /**
+     * A wither skeleton killed with Looting III, following the damage cause back to the killer's equipment.
+     *
+     * @return The event, so the call is not eliminated.
+     * @since 1.1.0
+     */
+    @Benchmark
+    public EntityDeathEvent lootingDrop() {
+        this.lootingDeath.getDrops().clear();
+        this.handler.onWitherSkeletonDeath(this.lootingDeath);
+        return this.lootingDeath;
+    }
+
+    // A sword reporting Looting III without item metadata, which the stubbed server cannot provide.
+    private static final class LootingSword extends ItemStack {
+        // Creates a new sword.
+        private LootingSword() {
+            super(Material.DIAMOND_SWORD);
+        }
+
+        @Override
+        public int getEnchantmentLevel(final @Nullable Enchantment enchantment) {
+            return enchantment == Enchantment.LOOT_BONUS_MOBS ? 3 : 0;
+        }
+    }
+}
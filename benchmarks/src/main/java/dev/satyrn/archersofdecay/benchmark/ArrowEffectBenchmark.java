@@ -0,0 +1,101 @@
+package dev.satyrn.archersofdecay.benchmark;
+
+import dev.satyrn.archersofdecay.event.ArrowEffectEvents;
+import dev.satyrn.archersofdecay.event.Fixture;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.entity.Arrow;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.entity.EntityShootBowEvent;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the decoration of arrows fired by wither skeletons, with and without lightweight arrows.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArrowEffectBenchmark {
+    /**
+     * Whether the effect is stored on the arrow instead of applied as a potion effect.
+     *
+     * @since 1.1.0
+     */
+    @Param({"false", "true"})
+    public boolean lightweight;
+
+    // The handler under test.
+    private ArrowEffectEvents handler;
+    // A skeleton shooting an arrow.
+    private EntityShootBowEvent skeletonShot;
+    // A wither skeleton shooting an arrow.
+    private EntityShootBowEvent witherSkeletonShot;
+
+    /**
+     * Builds the handler and events.
+     *
+     * @since 1.1.0
+     */
+    @Setup
+    public void setup() {
+        final @NotNull Fixture fixture = new Fixture("arrowsOfDecay.lightweight", this.lightweight);
+        this.handler = fixture.arrowEffectEvents();
+        final @NotNull ItemStack bow = new ItemStack(Material.BOW);
+        final @NotNull ItemStack arrows = new ItemStack(Material.ARROW);
+        final @NotNull Location location = new Location(fixture.nether, 8.5D, 64D, 8.5D);
+        final @NotNull LivingEntity skeleton = Stubs.create(StubLivingEntity.class, EntityType.SKELETON, 1, fixture.nether, location);
+        final @NotNull LivingEntity witherSkeleton = Stubs.create(StubWitherSkeleton.class, 2, fixture.nether, location);
+        final @NotNull Arrow arrow = Stubs.create(StubArrow.class, fixture.nether, location, witherSkeleton, Stubs.create(StubDataContainer.class));
+        this.skeletonShot = new EntityShootBowEvent(skeleton, bow, arrows, arrow, EquipmentSlot.HAND, 1F, false);
+        this.witherSkeletonShot = new EntityShootBowEvent(witherSkeleton, bow, arrows, arrow, EquipmentSlot.HAND, 1F, false);
+    }
+
+    /**
+     * An arrow fired by a skeleton, rejected by the type filter.
+     *
+     * @return The event, so the call is not eliminated.
+     * @since 1.1.0
+     */
+    @Benchmark
+    public EntityShootBowEvent rejectedShooter() {
+        this.handler.onWitherSkeletonShootArrow(this.skeletonShot);
+        return this.skeletonShot;
+    }
+
+    /**
+     * An arrow fired by a wither skeleton in the nether, decorated with the wither effect.
+     * <br>
+     * A lightweight arrow builds the key string of its data, as it does on a server. The setters of a tipped arrow do
+     * nothing, so the cost of storing the potion data on the arrow is not measured.
+     *
+     * @return The event, so the call is not eliminated.
+     * @since 1.1.0
+     */
+    @Benchmark
+    public EntityShootBowEvent decorated() {
+        this.handler.onWitherSkeletonShootArrow(this.witherSkeletonShot);
+        return this.witherSkeletonShot;
+    }
+}
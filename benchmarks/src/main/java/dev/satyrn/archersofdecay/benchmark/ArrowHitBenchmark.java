@@ -0,0 +1,105 @@
+package dev.satyrn.archersofdecay.benchmark;
+
+import dev.satyrn.archersofdecay.event.ArrowHitEvents;
+import dev.satyrn.archersofdecay.event.Fixture;
+import org.bukkit.Location;
+import org.bukkit.entity.Arrow;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.WitherSkeleton;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks lightweight arrows hitting an entity.
+ * <br>
+ * The arrows, entities and data containers are hand-written stubs, so the rejected hits are expected to report 0 B/op.
+ * The data lookup of a decay arrow builds its key string, as it does on a server.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArrowHitBenchmark {
+    // The handler under test.
+    private ArrowHitEvents handler;
+    // A player's arrow hitting a player.
+    private EntityDamageByEntityEvent plainHit;
+    // A lightweight decay arrow hitting a player.
+    private EntityDamageByEntityEvent decayHit;
+    // A lightweight decay arrow blocked by a shield.
+    private EntityDamageByEntityEvent blockedHit;
+
+    /**
+     * Builds the handler and events.
+     *
+     * @since 1.1.0
+     */
+    @Setup
+    public void setup() {
+        final @NotNull Fixture fixture = new Fixture("arrowsOfDecay.lightweight", true);
+        this.handler = fixture.arrowHitEvents();
+        final @NotNull Location location = new Location(fixture.nether, 8.5D, 64D, 8.5D);
+        final @NotNull LivingEntity target = Stubs.create(StubLivingEntity.class, EntityType.PLAYER, 1, fixture.nether, location);
+        final @NotNull WitherSkeleton witherSkeleton = Stubs.create(StubWitherSkeleton.class, 2, fixture.nether, location);
+        final @NotNull Arrow plainArrow = Stubs.create(StubArrow.class, fixture.nether, location, target, Stubs.create(StubDataContainer.class));
+        final @NotNull Arrow decayArrow = Stubs.create(StubArrow.class, fixture.nether, location, witherSkeleton, fixture.decayData(1, 200));
+        this.plainHit = new EntityDamageByEntityEvent(plainArrow, target, EntityDamageEvent.DamageCause.PROJECTILE, 4D);
+        this.decayHit = new EntityDamageByEntityEvent(decayArrow, target, EntityDamageEvent.DamageCause.PROJECTILE, 4D);
+        this.blockedHit = new EntityDamageByEntityEvent(decayArrow, target, EntityDamageEvent.DamageCause.PROJECTILE, 0D);
+    }
+
+    /**
+     * An arrow fired by a player, rejected by its shooter before the data lookup.
+     *
+     * @return The event, so the call is not eliminated.
+     * @since 1.1.0
+     */
+    @Benchmark
+    public EntityDamageByEntityEvent rejectedNoDecay() {
+        this.handler.onDecayArrowHit(this.plainHit);
+        return this.plainHit;
+    }
+
+    /**
+     * A lightweight arrow which deals no damage, rejected before the data lookup.
+     *
+     * @return The event, so the call is not eliminated.
+     * @since 1.1.0
+     */
+    @Benchmark
+    public EntityDamageByEntityEvent rejectedNoDamage() {
+        this.handler.onDecayArrowHit(this.blockedHit);
+        return this.blockedHit;
+    }
+
+    /**
+     * A lightweight arrow applying its wither effect.
+     *
+     * @return The event, so the call is not eliminated.
+     * @since 1.1.0
+     */
+    @Benchmark
+    public EntityDamageByEntityEvent decayHit() {
+        this.handler.onDecayArrowHit(this.decayHit);
+        return this.decayHit;
+    }
+}
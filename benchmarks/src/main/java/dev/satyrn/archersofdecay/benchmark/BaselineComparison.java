@@ -0,0 +1,141 @@
+package dev.satyrn.archersofdecay.benchmark;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares a JMH result file against a recorded baseline and reports regressions.
+ * <br>
+ * Both files must be written with {@code -rf csv}, and should be run with {@code -prof gc} so allocation can be
+ * compared. A benchmark regresses if its throughput falls by more than the threshold, or if it allocates at least
+ * {@value #ALLOCATION_SLACK} more bytes per operation than before. Exits with status 1 if any benchmark regressed.
+ * <br>
+ * Usage: {@code BaselineComparison <baseline.csv> <result.csv> [threshold]}, where the threshold is a fraction and
+ * defaults to {@value #DEFAULT_THRESHOLD}.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+public final class BaselineComparison {
+    // The default fraction by which throughput may fall.
+    private static final double DEFAULT_THRESHOLD = 0.1D;
+    // The number of bytes per operation below which allocation changes are ignored. Every object is at least 16 bytes.
+    private static final double ALLOCATION_SLACK = 8D;
+    // The secondary metric holding the bytes allocated per operation.
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    private BaselineComparison() {
+    }
+
+    /**
+     * Runs the comparison.
+     *
+     * @param args The baseline file, the result file and an optional threshold.
+     * @throws IOException if a file cannot be read.
+     * @since 1.1.0
+     */
+    public static void main(final @NotNull String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparison <baseline.csv> <result.csv> [threshold]");
+            System.exit(2);
+            return;
+        }
+        final double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD;
+        final @NotNull Map<String, Double> baseline = read(Path.of(args[0]));
+        final @NotNull Map<String, Double> result = read(Path.of(args[1]));
+
+        int regressions = 0;
+        for (final Map.Entry<String, Double> entry : result.entrySet()) {
+            final String key = entry.getKey();
+            final Double before = baseline.get(key);
+            if (before == null) {
+                System.out.printf("NEW        %s: %.3f%n", key, entry.getValue());
+                continue;
+            }
+            final double after = entry.getValue();
+            final boolean regressed = key.contains(":" + ALLOCATION_METRIC)
+                    ? after - before >= ALLOCATION_SLACK
+                    : after < before * (1D - threshold);
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-10s %s: %.3f -> %.3f (%+.1f%%)%n", regressed ? "REGRESSED" : "OK", key, before, after,
+                    before == 0D ? 0D : (after - before) / before * 100D);
+        }
+        for (final String key : baseline.keySet()) {
+            if (!result.containsKey(key)) {
+                System.out.printf("MISSING    %s%n", key);
+            }
+        }
+        System.out.printf("%d regression(s) at a throughput threshold of %.0f%%.%n", regressions, threshold * 100D);
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    // Reads the primary scores and allocation rates from a result file, keyed by benchmark, metric and parameters.
+    private static @NotNull Map<String, Double> read(final @NotNull Path path) throws IOException {
+        final @NotNull List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        final @NotNull Map<String, Double> scores = new LinkedHashMap<>();
+        if (lines.isEmpty()) {
+            return scores;
+        }
+        final @NotNull List<String> header = split(lines.get(0));
+        final int scoreColumn = header.indexOf("Score");
+        for (final String line : lines.subList(1, lines.size())) {
+            final @NotNull List<String> fields = split(line);
+            if (fields.size() != header.size()) {
+                continue;
+            }
+            final String benchmark = fields.get(0);
+            // Secondary metrics are reported as "<benchmark>:<metric>", with a middle dot before JMH 1.36.
+            final int separator = benchmark.indexOf(':');
+            if (separator >= 0 && !benchmark.endsWith(ALLOCATION_METRIC)) {
+                continue;
+            }
+            final @NotNull StringBuilder key = new StringBuilder(separator >= 0
+                    ? benchmark.substring(0, separator) + ":" + ALLOCATION_METRIC
+                    : benchmark);
+            for (int i = 0; i < header.size(); i++) {
+                if (header.get(i).startsWith("Param: ")) {
+                    key.append(' ').append(header.get(i).substring(7)).append('=').append(fields.get(i));
+                }
+            }
+            scores.put(key.toString(), Double.parseDouble(fields.get(scoreColumn)));
+        }
+        return scores;
+    }
+
+    // Splits a line of a JMH CSV file, which quotes every text field.
+    private static @NotNull List<String> split(final @NotNull String line) {
+        final @NotNull List<String> fields = new ArrayList<>();
+        final @NotNull StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            final char c = line.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == ',' && !quoted) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
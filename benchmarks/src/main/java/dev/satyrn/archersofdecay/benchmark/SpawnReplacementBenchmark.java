@@ -0,0 +1,102 @@
+package dev.satyrn.archersofdecay.benchmark;
+
+import com.destroystokyo.paper.event.entity.PreCreatureSpawnEvent;
+import dev.satyrn.archersofdecay.event.Fixture;
+import dev.satyrn.archersofdecay.event.SpawnReplacementEvents;
+import org.bukkit.Location;
+import org.bukkit.entity.EntityType;
+import org.bukkit.event.entity.CreatureSpawnEvent;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the pre-spawn roll which replaces nether skeletons with wither skeleton archers.
+ * <br>
+ * The spawn chance is set to 1, so every roll in the nether replaces the skeleton. The stubbed world spawns a valid
+ * archer, but does not keep it or report it to the registry, so the registry never grows between invocations.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpawnReplacementBenchmark {
+    // The handler under test.
+    private SpawnReplacementEvents handler;
+    // A zombie spawning in the nether.
+    private PreCreatureSpawnEvent zombieSpawn;
+    // A skeleton spawning in the overworld.
+    private PreCreatureSpawnEvent overworldSpawn;
+    // A skeleton spawning in the nether.
+    private PreCreatureSpawnEvent netherSpawn;
+
+    /**
+     * Builds the handler and events.
+     *
+     * @since 1.1.0
+     */
+    @Setup
+    public void setup() {
+        final @NotNull Fixture fixture = new Fixture("spawnChances.normal", 1.0D);
+        this.handler = fixture.spawnReplacementEvents();
+        final @NotNull Location netherLocation = new Location(fixture.nether, 8.5D, 64D, 8.5D);
+        this.zombieSpawn = new PreCreatureSpawnEvent(netherLocation, EntityType.ZOMBIE, CreatureSpawnEvent.SpawnReason.NATURAL);
+        this.overworldSpawn = new PreCreatureSpawnEvent(new Location(fixture.overworld, 8.5D, 64D, 8.5D), EntityType.SKELETON, CreatureSpawnEvent.SpawnReason.NATURAL);
+        this.netherSpawn = new PreCreatureSpawnEvent(netherLocation, EntityType.SKELETON, CreatureSpawnEvent.SpawnReason.NATURAL);
+    }
+
+    /**
+     * An entity other than a skeleton, rejected by the type filter.
+     *
+     * @return The event, so the call is not eliminated.
+     * @since 1.1.0
+     */
+    @Benchmark
+    public PreCreatureSpawnEvent rejectedEntityType() {
+        this.handler.onPreSpawnSkeleton(this.zombieSpawn);
+        return this.zombieSpawn;
+    }
+
+    /**
+     * A skeleton outside the nether, rejected by the world profile before the handler is timed.
+     *
+     * @return The event, so the call is not eliminated.
+     * @since 1.1.0
+     */
+    @Benchmark
+    public PreCreatureSpawnEvent rejectedEnvironment() {
+        this.handler.onPreSpawnSkeleton(this.overworldSpawn);
+        return this.overworldSpawn;
+    }
+
+    /**
+     * A skeleton in the nether, rolled and replaced.
+     * <br>
+     * The stubbed {@code World#spawn} call builds a new wither skeleton, as a server would, so this path is not
+     * expected to be free of allocation even though the handler itself is.
+     *
+     * @return The event, so the call is not eliminated.
+     * @since 1.1.0
+     */
+    @Benchmark
+    public PreCreatureSpawnEvent replaced() {
+        this.netherSpawn.setCancelled(false);
+        this.handler.onPreSpawnSkeleton(this.netherSpawn);
+        return this.netherSpawn;
+    }
+}
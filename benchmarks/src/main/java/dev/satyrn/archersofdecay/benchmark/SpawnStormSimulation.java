@@ -0,0 +1,280 @@
+package dev.satyrn.archersofdecay.benchmark;
+
+import com.destroystokyo.paper.event.entity.PreCreatureSpawnEvent;
+import dev.satyrn.archersofdecay.event.ArrowDropEvents;
+import dev.satyrn.archersofdecay.event.ArrowEffectEvents;
+import dev.satyrn.archersofdecay.event.ArrowHitEvents;
+import dev.satyrn.archersofdecay.event.Fixture;
+import dev.satyrn.archersofdecay.event.SpawnReplacementEvents;
+import dev.satyrn.archersofdecay.stats.Handler;
+import dev.satyrn.archersofdecay.stats.LatencyHistogram;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.entity.Arrow;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.entity.CreatureSpawnEvent;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.event.entity.EntityShootBowEvent;
+import org.bukkit.inventory.EntityEquipment;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Drives the event handlers with a synthetic stream of nether events and reports how they hold up.
+ * <br>
+ * Each simulated second is split into 20 ticks, and every tick dispatches its share of skeleton spawns, arrows fired,
+ * arrow hits and deaths, then ticks the stubbed scheduler, so deferred spawns are drained and coalesced drops are
+ * flushed as they would be on a server. Ticks run back to back rather than in real time, so the report shows how much
+ * headroom the handlers leave. About one spawn in ten is another mob, which the handlers should reject cheaply.
+ * <br>
+ * Replacement archers are spawned into the stubbed nether and tracked by the archer registry, so population caps and
+ * {@code archersOnly} take effect as the storm builds up. Once archers exist, half of the arrows fired and half of the
+ * deaths come from them, the newest archers dying first and leaving the world; the rest come from wither skeletons
+ * which were never converted.
+ * <br>
+ * Spawns, hits and the other events are drawn from a pool built up front, while the events of live archers are built
+ * before each tick is timed. Only the handlers, the registry and the scheduled tasks are timed and counted towards
+ * allocation, so the figures are the plugin's own, apart from the entities the stubbed world spawns.
+ * <br>
+ * Usage: {@code SpawnStormSimulation [name=value ...]}, with the scenario options {@code seconds}, {@code spawns},
+ * {@code arrows}, {@code hits} and {@code deaths} (all per second), and any configuration path, such as
+ * {@code spawnChances.normal=1} or {@code arrowsOfDecay.lightweight=true}.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+public final class SpawnStormSimulation {
+    // The number of ticks in a simulated second.
+    private static final int TICKS_PER_SECOND = 20;
+    // The number of pooled events of each kind.
+    private static final int POOL_SIZE = 1024;
+    // The bow wither skeletons fire.
+    private static final @NotNull ItemStack BOW = new ItemStack(Material.BOW);
+    // The arrows consumed by each shot.
+    private static final @NotNull ItemStack ARROWS = new ItemStack(Material.ARROW);
+
+    private SpawnStormSimulation() {
+    }
+
+    /**
+     * Runs the simulation.
+     *
+     * @param args The scenario options and configuration overrides.
+     * @since 1.1.0
+     */
+    public static void main(final @NotNull String[] args) {
+        final @NotNull Map<String, String> options = new LinkedHashMap<>(Map.of(
+                "seconds", "10",
+                "spawns", "10000",
+                "arrows", "2000",
+                "hits", "1000",
+                "deaths", "200"));
+        final @NotNull List<Object> overrides = new ArrayList<>();
+        for (final String arg : args) {
+            final int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                System.err.println("Ignoring argument " + arg + "; expected name=value.");
+                continue;
+            }
+            final String name = arg.substring(0, separator);
+            final String value = arg.substring(separator + 1);
+            if (options.containsKey(name)) {
+                options.put(name, value);
+            } else {
+                overrides.add(name);
+                overrides.add(parse(value));
+            }
+        }
+        final int seconds = Integer.parseInt(options.get("seconds"));
+        final int spawns = Integer.parseInt(options.get("spawns"));
+        final int arrows = Integer.parseInt(options.get("arrows"));
+        final int hits = Integer.parseInt(options.get("hits"));
+        final int deaths = Integer.parseInt(options.get("deaths"));
+
+        final @NotNull Fixture fixture = new Fixture(overrides.toArray());
+        fixture.trackSpawns();
+        final @NotNull SplittableRandom random = new SplittableRandom(0L);
+        final @NotNull SpawnReplacementEvents spawnReplacementEvents = fixture.spawnReplacementEvents();
+        final @NotNull ArrowEffectEvents arrowEffectEvents = fixture.arrowEffectEvents();
+        final @NotNull ArrowHitEvents arrowHitEvents = fixture.arrowHitEvents();
+        final @NotNull ArrowDropEvents arrowDropEvents = fixture.arrowDropEvents();
+        final @NotNull PreCreatureSpawnEvent[] spawnEvents = spawnEvents(fixture, random);
+        final @NotNull EntityShootBowEvent[] shootEvents = shootEvents(fixture, random);
+        final @NotNull EntityDamageByEntityEvent[] hitEvents = hitEvents(fixture, random);
+        final @NotNull EntityDeathEvent[] deathEvents = deathEvents(fixture, random);
+        final @NotNull List<LivingEntity> archers = fixture.nether.entities();
+        final @NotNull EntityShootBowEvent[] archerShootEvents = new EntityShootBowEvent[arrows / TICKS_PER_SECOND + 1];
+        final @NotNull EntityDeathEvent[] archerDeathEvents = new EntityDeathEvent[deaths / TICKS_PER_SECOND + 1];
+
+        System.out.printf("Simulating %d second(s) of %d spawns, %d arrows, %d hits and %d deaths per second.%n", seconds, spawns, arrows, hits, deaths);
+        final long heapBefore = usedHeap();
+        long elapsed = 0L;
+        long allocated = 0L;
+        long slowestTick = 0L;
+        long events = 0L;
+        for (int tick = 0; tick < seconds * TICKS_PER_SECOND; tick++) {
+            final int shots = share(arrows, tick);
+            final int archerShots = archers.isEmpty() ? 0 : shots / 2;
+            for (int i = 0; i < archerShots; i++) {
+                archerShootEvents[i] = shootEvent(archers.get(random.nextInt(archers.size())), random);
+            }
+            final int kills = share(deaths, tick);
+            final int archerKills = Math.min(archers.size(), kills / 2);
+            for (int i = 0; i < archerKills; i++) {
+                archerDeathEvents[i] = new EntityDeathEvent(archers.get(archers.size() - 1 - i), new ArrayList<>());
+            }
+
+            final long allocatedBefore = allocatedBytes();
+            final long tickStart = System.nanoTime();
+            for (int i = share(spawns, tick); i > 0; i--) {
+                final @NotNull PreCreatureSpawnEvent event = spawnEvents[(int) (events++ % POOL_SIZE)];
+                event.setCancelled(false);
+                spawnReplacementEvents.onPreSpawnSkeleton(event);
+            }
+            for (int i = 0; i < shots; i++) {
+                arrowEffectEvents.onWitherSkeletonShootArrow(i < archerShots ? archerShootEvents[i] : shootEvents[(int) (events % POOL_SIZE)]);
+                events++;
+            }
+            for (int i = share(hits, tick); i > 0; i--) {
+                arrowHitEvents.onDecayArrowHit(hitEvents[(int) (events++ % POOL_SIZE)]);
+            }
+            for (int i = 0; i < kills; i++) {
+                if (i < archerKills) {
+                    arrowDropEvents.onWitherSkeletonDeath(archerDeathEvents[i]);
+                    // The archers dying are at the end of the list, so removing them moves no other archer.
+                    fixture.nether.remove(archers.size() - 1);
+                } else {
+                    final @NotNull EntityDeathEvent event = deathEvents[(int) (events % POOL_SIZE)];
+                    event.getDrops().clear();
+                    arrowDropEvents.onWitherSkeletonDeath(event);
+                }
+                events++;
+            }
+            fixture.scheduler.tick();
+            final long tickTime = System.nanoTime() - tickStart;
+            allocated += allocatedBytes() - allocatedBefore;
+            elapsed += tickTime;
+            slowestTick = Math.max(slowestTick, tickTime);
+        }
+        final long heapAfter = usedHeap();
+
+        System.out.printf("Dispatched %d event(s) in %.1f ms (%.0f events/s).%n", events, elapsed / 1e6D, events / (elapsed / 1e9D));
+        System.out.printf("Slowest tick: %.3f ms of a 50 ms budget.%n", slowestTick / 1e6D);
+        System.out.printf("%-24s %10s %10s %10s %10s %10s%n", "Handler", "Count", "p50 (us)", "p99 (us)", "p99.9 (us)", "Max (us)");
+        for (final Handler handler : Handler.values()) {
+            final @NotNull LatencyHistogram timings = fixture.statistics.timings(handler);
+            if (timings.count() == 0L) {
+                continue;
+            }
+            System.out.printf("%-24s %10d %10.2f %10.2f %10.2f %10.2f%n", handler.getDisplayName(), timings.count(),
+                    timings.percentile(0.5D) / 1e3D, timings.percentile(0.99D) / 1e3D, timings.percentile(0.999D) / 1e3D, timings.max() / 1e3D);
+        }
+        System.out.printf("Counters: %s%n", fixture.statistics.counters());
+        System.out.printf("Archers: %d in the nether, %d tracked by the registry; %d scheduled task(s) still pending.%n",
+                archers.size(), fixture.archerRegistry.size(), fixture.scheduler.pendingTasks());
+        System.out.printf("Allocated: %d byte(s) (%.1f per event).%n", allocated, allocated / (double) Math.max(1L, events));
+        System.out.printf("Heap growth after GC: %d byte(s), including the archers still in the nether.%n", heapAfter - heapBefore);
+    }
+
+    // Gets the number of events of one kind to dispatch on a tick, spreading the remainder over the second.
+    private static int share(final int perSecond, final int tick) {
+        final int second = tick % TICKS_PER_SECOND;
+        return perSecond / TICKS_PER_SECOND + (second < perSecond % TICKS_PER_SECOND ? 1 : 0);
+    }
+
+    // Parses a configuration override.
+    private static @NotNull Object parse(final @NotNull String value) {
+        if (value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false")) {
+            return Boolean.parseBoolean(value);
+        }
+        try {
+            return value.contains(".") ? (Object) Double.parseDouble(value) : (Object) Integer.parseInt(value);
+        } catch (final NumberFormatException ex) {
+            return value;
+        }
+    }
+
+    // Gets a random location in the nether.
+    private static @NotNull Location location(final @NotNull Fixture fixture, final @NotNull SplittableRandom random) {
+        return new Location(fixture.nether, random.nextInt(-512, 512) + 0.5D, random.nextInt(32, 100), random.nextInt(-512, 512) + 0.5D);
+    }
+
+    // Builds the pool of spawn events. One in ten is a zombified piglin.
+    private static @NotNull PreCreatureSpawnEvent[] spawnEvents(final @NotNull Fixture fixture, final @NotNull SplittableRandom random) {
+        final @NotNull PreCreatureSpawnEvent[] events = new PreCreatureSpawnEvent[POOL_SIZE];
+        for (int i = 0; i < POOL_SIZE; i++) {
+            final @NotNull EntityType type = random.nextInt(10) == 0 ? EntityType.ZOMBIFIED_PIGLIN : EntityType.SKELETON;
+            events[i] = new PreCreatureSpawnEvent(location(fixture, random), type, CreatureSpawnEvent.SpawnReason.NATURAL);
+        }
+        return events;
+    }
+
+    // Builds the pool of bow shots by wither skeletons which were never converted.
+    private static @NotNull EntityShootBowEvent[] shootEvents(final @NotNull Fixture fixture, final @NotNull SplittableRandom random) {
+        final @NotNull EntityShootBowEvent[] events = new EntityShootBowEvent[POOL_SIZE];
+        for (int i = 0; i < POOL_SIZE; i++) {
+            events[i] = shootEvent(Stubs.create(StubWitherSkeleton.class, i, fixture.nether, location(fixture, random)), random);
+        }
+        return events;
+    }
+
+    // Builds a bow shot by a wither skeleton.
+    private static @NotNull EntityShootBowEvent shootEvent(final @NotNull LivingEntity shooter, final @NotNull SplittableRandom random) {
+        final @NotNull Arrow arrow = Stubs.create(StubArrow.class, shooter.getWorld(), shooter.getLocation(), shooter, Stubs.create(StubDataContainer.class));
+        return new EntityShootBowEvent(shooter, BOW, ARROWS, arrow, EquipmentSlot.HAND, (float) random.nextDouble(), false);
+    }
+
+    // Builds the pool of arrow hits. Half of the arrows are fired by wither skeletons and carry a lightweight wither
+    // effect, the rest by players.
+    private static @NotNull EntityDamageByEntityEvent[] hitEvents(final @NotNull Fixture fixture, final @NotNull SplittableRandom random) {
+        final @NotNull EntityDamageByEntityEvent[] events = new EntityDamageByEntityEvent[POOL_SIZE];
+        for (int i = 0; i < POOL_SIZE; i++) {
+            final @NotNull Location location = location(fixture, random);
+            final @NotNull LivingEntity target = Stubs.create(StubLivingEntity.class, EntityType.PLAYER, i, fixture.nether, location);
+            final @NotNull Arrow arrow = random.nextBoolean()
+                    ? Stubs.create(StubArrow.class, fixture.nether, location, Stubs.create(StubWitherSkeleton.class, POOL_SIZE + i, fixture.nether, location), fixture.decayData(random.nextInt(3), 100 + random.nextInt(200)))
+                    : Stubs.create(StubArrow.class, fixture.nether, location, target, Stubs.create(StubDataContainer.class));
+            events[i] = new EntityDamageByEntityEvent(arrow, target, EntityDamageEvent.DamageCause.PROJECTILE, 2D + random.nextInt(4));
+        }
+        return events;
+    }
+
+    // Builds the pool of deaths of wither skeletons which were never converted.
+    private static @NotNull EntityDeathEvent[] deathEvents(final @NotNull Fixture fixture, final @NotNull SplittableRandom random) {
+        final @NotNull EntityEquipment equipment = Stubs.create(StubEquipment.class);
+        equipment.setItemInMainHand(BOW);
+        final @NotNull EntityDeathEvent[] events = new EntityDeathEvent[POOL_SIZE];
+        for (int i = 0; i < POOL_SIZE; i++) {
+            final @NotNull StubLivingEntity witherSkeleton = Stubs.create(StubWitherSkeleton.class, i, fixture.nether, location(fixture, random));
+            witherSkeleton.setEquipment(equipment);
+            events[i] = new EntityDeathEvent(witherSkeleton, new ArrayList<>());
+        }
+        return events;
+    }
+
+    // Gets the heap in use after a full collection.
+    private static long usedHeap() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    // Gets the number of bytes allocated by the current thread, or 0 if the JVM cannot report it.
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof final com.sun.management.ThreadMXBean threadMXBean
+                && threadMXBean.isThreadAllocatedMemorySupported()) {
+            return threadMXBean.getCurrentThreadAllocatedBytes();
+        }
+        return 0L;
+    }
+}
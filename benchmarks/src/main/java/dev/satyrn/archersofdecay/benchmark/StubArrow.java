@@ -0,0 +1,87 @@
+package dev.satyrn.archersofdecay.benchmark;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Arrow;
+import org.bukkit.entity.EntityType;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.projectiles.ProjectileSource;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An arrow with the state the event handlers read. The setters which decorate an arrow do nothing. Create instances
+ * with {@link Stubs#create(Class, Object...)}.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+public abstract class StubArrow implements Arrow {
+    // The world the arrow is in.
+    private final @NotNull World world;
+    // The arrow location.
+    private final @NotNull Location location;
+    // The persistent data of the arrow.
+    private final @NotNull PersistentDataContainer dataContainer;
+    // The entity which fired the arrow, or null if it is unknown.
+    private @Nullable ProjectileSource shooter;
+
+    /**
+     * Creates a new arrow.
+     *
+     * @param world         The world the arrow is in.
+     * @param location      The arrow location.
+     * @param shooter       The entity which fired the arrow, or null if it is unknown.
+     * @param dataContainer The persistent data of the arrow.
+     * @since 1.1.0
+     */
+    public StubArrow(final @NotNull World world, final @NotNull Location location, final @Nullable ProjectileSource shooter, final @NotNull PersistentDataContainer dataContainer) {
+        this.world = world;
+        this.location = location;
+        this.shooter = shooter;
+        this.dataContainer = dataContainer;
+    }
+
+    @Override
+    public @NotNull EntityType getType() {
+        return EntityType.ARROW;
+    }
+
+    @Override
+    public @NotNull World getWorld() {
+        return this.world;
+    }
+
+    @Override
+    public @NotNull Location getLocation() {
+        return this.location.clone();
+    }
+
+    @Override
+    public @Nullable Location getLocation(final @Nullable Location loc) {
+        if (loc != null) {
+            loc.setWorld(this.world);
+            loc.setX(this.location.getX());
+            loc.setY(this.location.getY());
+            loc.setZ(this.location.getZ());
+            loc.setYaw(this.location.getYaw());
+            loc.setPitch(this.location.getPitch());
+        }
+        return loc;
+    }
+
+    @Override
+    public @Nullable ProjectileSource getShooter() {
+        return this.shooter;
+    }
+
+    @Override
+    public void setShooter(final @Nullable ProjectileSource source) {
+        this.shooter = source;
+    }
+
+    @Override
+    public @NotNull PersistentDataContainer getPersistentDataContainer() {
+        return this.dataContainer;
+    }
+}
@@ -0,0 +1,58 @@
+package dev.satyrn.archersofdecay.benchmark;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A persistent data container which holds its values in memory.
+ * <br>
+ * Values are keyed by the string form of their key, as CraftBukkit keys them, so each lookup builds the key string
+ * just as it would on a server. Create instances with {@link Stubs#create(Class, Object...)}.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+public abstract class StubDataContainer implements PersistentDataContainer {
+    // The stored values, keyed by the string form of their key.
+    private final @NotNull Map<String, Object> values = new HashMap<>();
+
+    /**
+     * Creates an empty container.
+     *
+     * @since 1.1.0
+     */
+    public StubDataContainer() {
+    }
+
+    @Override
+    public <T, Z> void set(final @NotNull NamespacedKey key, final @NotNull PersistentDataType<T, Z> type, final @NotNull Z value) {
+        this.values.put(key.toString(), value);
+    }
+
+    @Override
+    public <T, Z> boolean has(final @NotNull NamespacedKey key, final @NotNull PersistentDataType<T, Z> type) {
+        return type.getComplexType().isInstance(this.values.get(key.toString()));
+    }
+
+    @Override
+    public <T, Z> @Nullable Z get(final @NotNull NamespacedKey key, final @NotNull PersistentDataType<T, Z> type) {
+        final @Nullable Object value = this.values.get(key.toString());
+        return type.getComplexType().isInstance(value) ? type.getComplexType().cast(value) : null;
+    }
+
+    @Override
+    public void remove(final @NotNull NamespacedKey key) {
+        this.values.remove(key.toString());
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.values.isEmpty();
+    }
+}
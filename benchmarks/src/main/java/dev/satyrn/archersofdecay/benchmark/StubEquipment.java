@@ -0,0 +1,52 @@
+package dev.satyrn.archersofdecay.benchmark;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.EntityEquipment;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Equipment which holds the main hand item and armor set on it. Items are kept as given rather than copied. Create
+ * instances with {@link Stubs#create(Class, Object...)}.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+public abstract class StubEquipment implements EntityEquipment {
+    // The empty item returned for an empty hand.
+    private static final @NotNull ItemStack AIR = new ItemStack(Material.AIR);
+
+    // The item in the main hand, or null if the hand is empty.
+    private @Nullable ItemStack mainHand;
+    // The armor, from boots to helmet.
+    private @NotNull ItemStack[] armor = new ItemStack[4];
+
+    /**
+     * Creates empty equipment.
+     *
+     * @since 1.1.0
+     */
+    public StubEquipment() {
+    }
+
+    @Override
+    public @NotNull ItemStack getItemInMainHand() {
+        return this.mainHand == null ? AIR : this.mainHand;
+    }
+
+    @Override
+    public void setItemInMainHand(final @Nullable ItemStack item) {
+        this.mainHand = item;
+    }
+
+    @Override
+    public @NotNull ItemStack[] getArmorContents() {
+        return this.armor.clone();
+    }
+
+    @Override
+    public void setArmorContents(final @NotNull ItemStack[] items) {
+        this.armor = items.clone();
+    }
+}
@@ -0,0 +1,134 @@
+package dev.satyrn.archersofdecay.benchmark;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.inventory.EntityEquipment;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.potion.PotionEffect;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A living entity with the state the event handlers read.
+ * <br>
+ * {@link #getLocation()} returns a copy, as it does on a server, while {@link #getLocation(Location)} fills in the given
+ * location without allocating. Create instances with {@link Stubs#create(Class, Object...)}.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+public abstract class StubLivingEntity implements LivingEntity {
+    // The entity type.
+    private final @NotNull EntityType type;
+    // The entity ID.
+    private final int entityId;
+    // The world the entity is in.
+    private final @NotNull World world;
+    // The entity location.
+    private final @NotNull Location location;
+    // The persistent data of the entity.
+    private final @NotNull PersistentDataContainer dataContainer = Stubs.create(StubDataContainer.class);
+    // The equipment of the entity, or null if it has none.
+    private @Nullable EntityEquipment equipment;
+    // The last damage taken by the entity, or null if it has not been damaged.
+    private @Nullable EntityDamageEvent lastDamageCause;
+    // Whether the entity is still in the world.
+    private boolean valid = true;
+
+    /**
+     * Creates a new entity.
+     *
+     * @param type     The entity type.
+     * @param entityId The entity ID.
+     * @param world    The world the entity is in.
+     * @param location The entity location.
+     * @since 1.1.0
+     */
+    public StubLivingEntity(final @NotNull EntityType type, final int entityId, final @NotNull World world, final @NotNull Location location) {
+        this.type = type;
+        this.entityId = entityId;
+        this.world = world;
+        this.location = location;
+    }
+
+    /**
+     * Sets the equipment returned by {@link #getEquipment()}.
+     *
+     * @param equipment The equipment.
+     * @since 1.1.0
+     */
+    public void setEquipment(final @Nullable EntityEquipment equipment) {
+        this.equipment = equipment;
+    }
+
+    @Override
+    public @NotNull EntityType getType() {
+        return this.type;
+    }
+
+    @Override
+    public int getEntityId() {
+        return this.entityId;
+    }
+
+    @Override
+    public @NotNull World getWorld() {
+        return this.world;
+    }
+
+    @Override
+    public @NotNull Location getLocation() {
+        return this.location.clone();
+    }
+
+    @Override
+    public @Nullable Location getLocation(final @Nullable Location loc) {
+        if (loc != null) {
+            loc.setWorld(this.world);
+            loc.setX(this.location.getX());
+            loc.setY(this.location.getY());
+            loc.setZ(this.location.getZ());
+            loc.setYaw(this.location.getYaw());
+            loc.setPitch(this.location.getPitch());
+        }
+        return loc;
+    }
+
+    @Override
+    public @NotNull PersistentDataContainer getPersistentDataContainer() {
+        return this.dataContainer;
+    }
+
+    @Override
+    public @Nullable EntityEquipment getEquipment() {
+        return this.equipment;
+    }
+
+    @Override
+    public @Nullable EntityDamageEvent getLastDamageCause() {
+        return this.lastDamageCause;
+    }
+
+    @Override
+    public void setLastDamageCause(final @Nullable EntityDamageEvent event) {
+        this.lastDamageCause = event;
+    }
+
+    @Override
+    public boolean addPotionEffect(final @NotNull PotionEffect effect) {
+        return true;
+    }
+
+    @Override
+    public boolean isValid() {
+        return this.valid;
+    }
+
+    @Override
+    public void remove() {
+        this.valid = false;
+    }
+}
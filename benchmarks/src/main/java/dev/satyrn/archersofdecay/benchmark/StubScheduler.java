@@ -0,0 +1,159 @@
+package dev.satyrn.archersofdecay.benchmark;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A scheduler which runs synchronous tasks when it is ticked by hand.
+ * <br>
+ * Tasks are run on the tick after they are due, in the order they were scheduled. Tasks scheduled while the scheduler
+ * ticks run on a later tick. Create instances with {@link Stubs#create(Class, Object...)}.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+public abstract class StubScheduler implements BukkitScheduler {
+    // The scheduled tasks, including tasks cancelled since the last tick.
+    private final @NotNull List<Task> tasks = new ArrayList<>();
+    // The number of ticks run so far.
+    private long currentTick;
+    // The ID of the last scheduled task.
+    private int lastTaskId;
+
+    /**
+     * Creates a new scheduler.
+     *
+     * @since 1.1.0
+     */
+    public StubScheduler() {
+    }
+
+    /**
+     * Runs the tasks which are due on the next tick.
+     *
+     * @since 1.1.0
+     */
+    public void tick() {
+        this.currentTick++;
+        // Tasks scheduled while ticking are due on a later tick, so they are not reached.
+        final int count = this.tasks.size();
+        for (int i = 0; i < count; i++) {
+            final @NotNull Task task = this.tasks.get(i);
+            if (!task.isCancelled() && task.nextRun <= this.currentTick) {
+                task.runnable.run();
+                if (task.period > 0L) {
+                    task.nextRun = this.currentTick + task.period;
+                } else {
+                    task.cancel();
+                }
+            }
+        }
+        this.tasks.removeIf(Task::isCancelled);
+    }
+
+    /**
+     * Gets the number of tasks which have not finished or been cancelled.
+     *
+     * @return The number of pending tasks.
+     * @since 1.1.0
+     */
+    public int pendingTasks() {
+        int pending = 0;
+        for (final Task task : this.tasks) {
+            if (!task.isCancelled()) {
+                pending++;
+            }
+        }
+        return pending;
+    }
+
+    @Override
+    public @NotNull BukkitTask runTask(final @NotNull Plugin plugin, final @NotNull Runnable task) {
+        return this.schedule(plugin, task, 0L, 0L);
+    }
+
+    @Override
+    public @NotNull BukkitTask runTaskLater(final @NotNull Plugin plugin, final @NotNull Runnable task, final long delay) {
+        return this.schedule(plugin, task, delay, 0L);
+    }
+
+    @Override
+    public @NotNull BukkitTask runTaskTimer(final @NotNull Plugin plugin, final @NotNull Runnable task, final long delay, final long period) {
+        return this.schedule(plugin, task, delay, Math.max(1L, period));
+    }
+
+    // Schedules a task to run after a delay, and then every period ticks if the period is above zero.
+    private @NotNull BukkitTask schedule(final @NotNull Plugin plugin, final @NotNull Runnable runnable, final long delay, final long period) {
+        final @NotNull Task task = Stubs.create(Task.class, ++this.lastTaskId, plugin, runnable, period);
+        task.nextRun = this.currentTick + Math.max(1L, delay);
+        this.tasks.add(task);
+        return task;
+    }
+
+    /**
+     * A task scheduled on a {@link StubScheduler}.
+     *
+     * @author Isabel Maskrey
+     * @since 1.1.0
+     */
+    public abstract static class Task implements BukkitTask {
+        // The task ID.
+        private final int taskId;
+        // The plugin which scheduled the task.
+        private final @NotNull Plugin owner;
+        // The code to run.
+        private final @NotNull Runnable runnable;
+        // The number of ticks between runs, or 0 to run once.
+        private final long period;
+        // The tick the task is next due.
+        private long nextRun;
+        // Whether the task has finished or been cancelled.
+        private boolean cancelled;
+
+        /**
+         * Creates a new task.
+         *
+         * @param taskId   The task ID.
+         * @param owner    The plugin which scheduled the task.
+         * @param runnable The code to run.
+         * @param period   The number of ticks between runs, or 0 to run once.
+         * @since 1.1.0
+         */
+        public Task(final int taskId, final @NotNull Plugin owner, final @NotNull Runnable runnable, final long period) {
+            this.taskId = taskId;
+            this.owner = owner;
+            this.runnable = runnable;
+            this.period = period;
+        }
+
+        @Override
+        public int getTaskId() {
+            return this.taskId;
+        }
+
+        @Override
+        public @NotNull Plugin getOwner() {
+            return this.owner;
+        }
+
+        @Override
+        public boolean isSync() {
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return this.cancelled;
+        }
+
+        @Override
+        public void cancel() {
+            this.cancelled = true;
+        }
+    }
+}
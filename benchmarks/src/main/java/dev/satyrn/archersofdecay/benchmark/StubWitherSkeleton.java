@@ -0,0 +1,28 @@
+package dev.satyrn.archersofdecay.benchmark;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.WitherSkeleton;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A wither skeleton with the state the event handlers read. Create instances with
+ * {@link Stubs#create(Class, Object...)}.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+public abstract class StubWitherSkeleton extends StubLivingEntity implements WitherSkeleton {
+    /**
+     * Creates a new wither skeleton.
+     *
+     * @param entityId The entity ID.
+     * @param world    The world the wither skeleton is in.
+     * @param location The wither skeleton's location.
+     * @since 1.1.0
+     */
+    public StubWitherSkeleton(final int entityId, final @NotNull World world, final @NotNull Location location) {
+        super(EntityType.WITHER_SKELETON, entityId, world, location);
+    }
+}
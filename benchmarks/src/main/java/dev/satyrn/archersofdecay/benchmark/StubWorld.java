@@ -0,0 +1,155 @@
+package dev.satyrn.archersofdecay.benchmark;
+
+import org.bukkit.Difficulty;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Biome;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.entity.CreatureSpawnEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * A world in which every chunk is loaded and every block is in the same biome.
+ * <br>
+ * {@link #spawn(Location, Class, org.bukkit.util.Consumer, CreatureSpawnEvent.SpawnReason)} creates a valid wither
+ * skeleton with empty equipment and runs the spawn function on it, as a server would before adding it to the world.
+ * While the world is tracked, spawned entities are kept until they are removed with {@link #remove(int)}, and the
+ * tracking listeners are told as entities are added and removed; otherwise spawned entities are dropped at once.
+ * Create instances with {@link Stubs#create(Class, Object...)}.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+public abstract class StubWorld implements World {
+    // The world UID.
+    private final @NotNull UUID uid;
+    // The world name.
+    private final @NotNull String name;
+    // The world environment.
+    private final @NotNull Environment environment;
+    // The world difficulty.
+    private final @NotNull Difficulty difficulty;
+    // The biome of every block.
+    private final @NotNull Biome biome;
+    // The spawned entities still in the world, while the world is tracked.
+    private final @NotNull List<LivingEntity> entities = new ArrayList<>();
+    // Told when an entity is added to the world, or null if the world is not tracked.
+    private @Nullable Consumer<Entity> addListener;
+    // Told when an entity is removed from the world, or null if the world is not tracked.
+    private @Nullable Consumer<Entity> removeListener;
+    // The ID of the last spawned entity, clear of the IDs the benchmarks give their own entities.
+    private int lastEntityId = 1 << 20;
+
+    /**
+     * Creates a new world.
+     *
+     * @param uid         The world UID.
+     * @param name        The world name.
+     * @param environment The world environment.
+     * @param difficulty  The world difficulty.
+     * @param biome       The biome of every block.
+     * @since 1.1.0
+     */
+    public StubWorld(final @NotNull UUID uid, final @NotNull String name, final @NotNull Environment environment, final @NotNull Difficulty difficulty, final @NotNull Biome biome) {
+        this.uid = uid;
+        this.name = name;
+        this.environment = environment;
+        this.difficulty = difficulty;
+        this.biome = biome;
+    }
+
+    /**
+     * Keeps spawned entities in the world and reports them as they are added and removed.
+     *
+     * @param addListener    Told when an entity is added to the world.
+     * @param removeListener Told when an entity is removed from the world.
+     * @since 1.1.0
+     */
+    public void track(final @NotNull Consumer<Entity> addListener, final @NotNull Consumer<Entity> removeListener) {
+        this.addListener = addListener;
+        this.removeListener = removeListener;
+    }
+
+    /**
+     * Gets the spawned entities still in the world. Always empty while the world is not tracked. Must not be modified.
+     *
+     * @return The entities.
+     * @since 1.1.0
+     */
+    public @NotNull List<LivingEntity> entities() {
+        return this.entities;
+    }
+
+    /**
+     * Removes a spawned entity from the world. The last entity takes the place of the removed one.
+     *
+     * @param index The index of the entity in {@link #entities()}.
+     * @since 1.1.0
+     */
+    public void remove(final int index) {
+        final @NotNull LivingEntity entity = this.entities.get(index);
+        final @NotNull LivingEntity last = this.entities.remove(this.entities.size() - 1);
+        if (last != entity) {
+            this.entities.set(index, last);
+        }
+        entity.remove();
+        if (this.removeListener != null) {
+            this.removeListener.accept(entity);
+        }
+    }
+
+    @Override
+    public @NotNull UUID getUID() {
+        return this.uid;
+    }
+
+    @Override
+    public @NotNull String getName() {
+        return this.name;
+    }
+
+    @Override
+    public @NotNull Environment getEnvironment() {
+        return this.environment;
+    }
+
+    @Override
+    public @NotNull Difficulty getDifficulty() {
+        return this.difficulty;
+    }
+
+    @Override
+    public @NotNull Biome getBiome(final int x, final int y, final int z) {
+        return this.biome;
+    }
+
+    @Override
+    public boolean isChunkLoaded(final int x, final int z) {
+        return true;
+    }
+
+    @Override
+    public <T extends Entity> @NotNull T spawn(final @NotNull Location location, final @NotNull Class<T> clazz, final @Nullable org.bukkit.util.Consumer<T> function, final @NotNull CreatureSpawnEvent.SpawnReason reason) {
+        if (!clazz.isAssignableFrom(StubWitherSkeleton.class)) {
+            throw new UnsupportedOperationException("The stubbed world can only spawn wither skeletons, not " + clazz.getSimpleName() + ".");
+        }
+        final @NotNull StubWitherSkeleton witherSkeleton = Stubs.create(StubWitherSkeleton.class, ++this.lastEntityId, this, location.clone());
+        witherSkeleton.setEquipment(Stubs.create(StubEquipment.class));
+        final @NotNull T entity = clazz.cast(witherSkeleton);
+        if (function != null) {
+            function.accept(entity);
+        }
+        if (this.addListener != null) {
+            this.entities.add(witherSkeleton);
+            this.addListener.accept(entity);
+        }
+        return entity;
+    }
+}
@@ -0,0 +1,135 @@
+package dev.satyrn.archersofdecay.benchmark;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.StubMethod;
+import net.bytebuddy.matcher.ElementMatchers;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates stub implementations of Bukkit interfaces.
+ * <br>
+ * Interfaces which the handlers only touch while they are set up, such as the server and the plugin, are stubbed with
+ * a proxy by {@link #stub(Class, Object...)}. A proxy answers each method by name with a fixed value, or with null,
+ * zero or false if no value was given. Every call to a proxy method with parameters allocates its argument array.
+ * <br>
+ * The entities, arrows and data containers the handlers call on every event are instead hand-written abstract classes,
+ * such as {@link StubArrow}, which implement the methods the handlers use. {@link #create(Class, Object...)} fills in
+ * the remaining methods of the interface to return null, zero or false, and calls to the hand-written methods allocate
+ * no more than they would on a server.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+public final class Stubs {
+    // The answers for primitive return types when no value was given.
+    private static final Map<Class<?>, Object> PRIMITIVE_DEFAULTS = Map.of(
+            boolean.class, Boolean.FALSE,
+            byte.class, (byte) 0,
+            short.class, (short) 0,
+            char.class, (char) 0,
+            int.class, 0,
+            long.class, 0L,
+            float.class, 0F,
+            double.class, 0D
+    );
+
+    // The generated concrete class of each hand-written stub.
+    private static final Map<Class<?>, Class<?>> CONCRETE_TYPES = new ConcurrentHashMap<>();
+
+    private Stubs() {
+    }
+
+    /**
+     * Creates a stub.
+     *
+     * @param type    The interface to implement.
+     * @param answers Pairs of method names and the values they return.
+     * @param <T>     The interface type.
+     * @return The stub.
+     * @since 1.1.0
+     */
+    public static <T> @NotNull T stub(final @NotNull Class<T> type, final @NotNull Object... answers) {
+        if (answers.length % 2 != 0) {
+            throw new IllegalArgumentException("Answers must be pairs of method names and values.");
+        }
+        final @NotNull Map<String, Object> answersByName = new HashMap<>();
+        for (int i = 0; i < answers.length; i += 2) {
+            answersByName.put((String) answers[i], answers[i + 1]);
+        }
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new Answers(answersByName)));
+    }
+
+    /**
+     * Creates an instance of a hand-written stub, filling in the methods it leaves abstract.
+     *
+     * @param type The abstract stub class, which must declare a single public constructor.
+     * @param args The constructor arguments.
+     * @param <T>  The stub type.
+     * @return The stub.
+     * @since 1.1.0
+     */
+    public static <T> @NotNull T create(final @NotNull Class<T> type, final @NotNull Object... args) {
+        final @NotNull Class<?> concreteType = CONCRETE_TYPES.computeIfAbsent(type, Stubs::concreteType);
+        try {
+            return type.cast(concreteType.getDeclaredConstructors()[0].newInstance(args));
+        } catch (final ReflectiveOperationException ex) {
+            throw new IllegalStateException("Could not create a " + type.getSimpleName() + ".", ex);
+        }
+    }
+
+    // Generates a subclass of a hand-written stub whose abstract methods return null, zero or false.
+    private static @NotNull Class<?> concreteType(final @NotNull Class<?> type) {
+        return new ByteBuddy()
+                .subclass(type)
+                .method(ElementMatchers.isAbstract())
+                .intercept(StubMethod.INSTANCE)
+                .make()
+                .load(type.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+    }
+
+    // Answers stub method calls from a map of values.
+    private static final class Answers implements InvocationHandler {
+        // The values returned by each method, keyed by method name.
+        private final @NotNull Map<String, Object> answers;
+        // The identity hash code of the stub, boxed once.
+        private @Nullable Integer hashCode;
+
+        // Creates a new answer map.
+        private Answers(final @NotNull Map<String, Object> answers) {
+            this.answers = answers;
+        }
+
+        @Override
+        public @Nullable Object invoke(final @NotNull Object proxy, final @NotNull Method method, final @Nullable Object[] args) {
+            final @NotNull String name = method.getName();
+            if (method.getDeclaringClass() == Object.class) {
+                switch (name) {
+                    case "equals":
+                        return args != null && proxy == args[0];
+                    case "hashCode":
+                        if (this.hashCode == null) {
+                            this.hashCode = System.identityHashCode(proxy);
+                        }
+                        return this.hashCode;
+                    default:
+                        return "Stub" + proxy.getClass().getInterfaces()[0].getSimpleName();
+                }
+            }
+            final @Nullable Object answer = this.answers.get(name);
+            if (answer != null || !method.getReturnType().isPrimitive()) {
+                return answer;
+            }
+            return PRIMITIVE_DEFAULTS.get(method.getReturnType());
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package dev.satyrn.archersofdecay.event;
+
+import com.destroystokyo.paper.event.entity.EntityAddToWorldEvent;
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
+import dev.satyrn.archersofdecay.benchmark.StubDataContainer;
+import dev.satyrn.archersofdecay.benchmark.StubScheduler;
+import dev.satyrn.archersofdecay.benchmark.StubWorld;
+import dev.satyrn.archersofdecay.benchmark.Stubs;
+import dev.satyrn.archersofdecay.configuration.Configuration;
+import dev.satyrn.archersofdecay.entity.ArcherRegistry;
+import dev.satyrn.archersofdecay.load.LoadGovernor;
+import dev.satyrn.archersofdecay.stats.PluginStatistics;
+import dev.satyrn.archersofdecay.world.WorldProfiles;
+import org.bukkit.Bukkit;
+import org.bukkit.Difficulty;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.block.Biome;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.inventory.ItemFactory;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static dev.satyrn.archersofdecay.benchmark.Stubs.stub;
+
+/**
+ * Builds the plugin's event handlers against stubbed Bukkit interfaces.
+ * <br>
+ * The handler constructors are package-private, so the fixture lives in the handlers' package. The stubbed server has
+ * no item factory, so item templates are plain item stacks without metadata. Its scheduler only runs tasks when it is
+ * ticked by hand, and looking a world up by UID always finds the nether. Logging is left at INFO, so the handlers'
+ * FINER messages are never formatted.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+public final class Fixture {
+    // The logger shared by the stubbed server and plugin.
+    private static final @NotNull Logger LOGGER = Logger.getLogger("ArchersOfDecay");
+
+    /**
+     * The stubbed nether world, on normal difficulty. Spawned wither skeletons are valid and carry the archer marker,
+     * but are only kept, and tracked by the archer registry, once {@link #trackSpawns()} is called.
+     *
+     * @since 1.1.0
+     */
+    public final @NotNull StubWorld nether = Stubs.create(StubWorld.class, new UUID(0L, 1L), "world_nether", World.Environment.NETHER, Difficulty.NORMAL, Biome.NETHER_WASTES);
+
+    /**
+     * The stubbed overworld, on normal difficulty.
+     *
+     * @since 1.1.0
+     */
+    public final @NotNull StubWorld overworld = Stubs.create(StubWorld.class, new UUID(0L, 0L), "world", World.Environment.NORMAL, Difficulty.NORMAL, Biome.PLAINS);
+
+    /**
+     * The stubbed scheduler, which runs the tasks the handlers schedule when it is ticked.
+     *
+     * @since 1.1.0
+     */
+    public final @NotNull StubScheduler scheduler = Stubs.create(StubScheduler.class);
+
+    /**
+     * The stubbed plugin.
+     *
+     * @since 1.1.0
+     */
+    public final @NotNull Plugin plugin;
+
+    /**
+     * The configuration.
+     *
+     * @since 1.1.0
+     */
+    public final @NotNull Configuration configuration;
+
+    /**
+     * The archer registry.
+     *
+     * @since 1.1.0
+     */
+    public final @NotNull ArcherRegistry archerRegistry;
+
+    /**
+     * The load governor. Never started, so load is never shed.
+     *
+     * @since 1.1.0
+     */
+    public final @NotNull LoadGovernor loadGovernor;
+
+    /**
+     * The plugin statistics.
+     *
+     * @since 1.1.0
+     */
+    public final @NotNull PluginStatistics statistics = new PluginStatistics();
+
+    /**
+     * The world profiles. Never updated, so profiles are built as each world is first seen.
+     *
+     * @since 1.1.0
+     */
+    public final @NotNull WorldProfiles worldProfiles;
+
+    /**
+     * Creates a new fixture.
+     *
+     * @param overrides Pairs of configuration paths and the values to set.
+     * @since 1.1.0
+     */
+    public Fixture(final @NotNull Object... overrides) {
+        LOGGER.setLevel(Level.INFO);
+        final @NotNull Server server = this.server();
+        final @NotNull YamlConfiguration config = new YamlConfiguration();
+        for (int i = 0; i < overrides.length; i += 2) {
+            config.set((String) overrides[i], overrides[i + 1]);
+        }
+        this.plugin = stub(Plugin.class,
+                "getName", "ArchersOfDecay",
+                "getConfig", config,
+                "getLogger", LOGGER,
+                "getServer", server);
+        this.configuration = new Configuration(this.plugin);
+        this.archerRegistry = new ArcherRegistry(this.plugin);
+        this.loadGovernor = new LoadGovernor(this.plugin, this.configuration);
+        this.worldProfiles = new WorldProfiles(this.plugin, this.configuration);
+    }
+
+    /**
+     * Creates the spawn replacement handler.
+     *
+     * @return The handler.
+     * @since 1.1.0
+     */
+    public @NotNull SpawnReplacementEvents spawnReplacementEvents() {
+        return new SpawnReplacementEvents(this.plugin, this.configuration, this.archerRegistry, this.loadGovernor, this.statistics, this.worldProfiles);
+    }
+
+    /**
+     * Creates the arrow effect handler.
+     *
+     * @return The handler.
+     * @since 1.1.0
+     */
+    public @NotNull ArrowEffectEvents arrowEffectEvents() {
+        return new ArrowEffectEvents(this.plugin, this.configuration, this.archerRegistry, this.loadGovernor, this.statistics, this.worldProfiles);
+    }
+
+    /**
+     * Creates the lightweight arrow hit handler.
+     *
+     * @return The handler.
+     * @since 1.1.0
+     */
+    public @NotNull ArrowHitEvents arrowHitEvents() {
+        return new ArrowHitEvents(this.plugin, this.statistics);
+    }
+
+    /**
+     * Creates the arrow drop handler.
+     *
+     * @return The handler.
+     * @since 1.1.0
+     */
+    public @NotNull ArrowDropEvents arrowDropEvents() {
+        return new ArrowDropEvents(this.plugin, this.configuration, this.archerRegistry, this.statistics, this.worldProfiles);
+    }
+
+    /**
+     * Creates the persistent data of a lightweight arrow carrying a wither effect.
+     *
+     * @param effectLevel The effect level.
+     * @param duration    The effect duration in ticks.
+     * @return The data container.
+     * @since 1.1.0
+     */
+    public @NotNull PersistentDataContainer decayData(final int effectLevel, final int duration) {
+        final @NotNull PersistentDataContainer dataContainer = Stubs.create(StubDataContainer.class);
+        dataContainer.set(new NamespacedKey(this.plugin, ArrowEffectEvents.DECAY_KEY), PersistentDataType.LONG, ArrowEffectEvents.packEffect(effectLevel, duration));
+        return dataContainer;
+    }
+
+    /**
+     * Keeps the wither skeletons spawned in the nether, and has the archer registry track them as they are added to and
+     * removed from the world.
+     *
+     * @since 1.1.0
+     */
+    public void trackSpawns() {
+        this.nether.track(entity -> this.archerRegistry.onEntityAddToWorld(new EntityAddToWorldEvent(entity)),
+                entity -> this.archerRegistry.onEntityRemoveFromWorld(new EntityRemoveFromWorldEvent(entity)));
+    }
+
+    // Creates the stubbed server of this fixture, installing the first one as the Bukkit server.
+    private @NotNull Server server() {
+        final @NotNull Server server = stub(Server.class,
+                "getName", "Stub",
+                "getVersion", "Stub",
+                "getBukkitVersion", "1.18.1-R0.1-SNAPSHOT",
+                "getLogger", LOGGER,
+                "getItemFactory", stub(ItemFactory.class),
+                "getScheduler", this.scheduler,
+                "getWorld", this.nether,
+                "getWorlds", List.<World>of(this.overworld, this.nether));
+        if (Bukkit.getServer() == null) {
+            Bukkit.setServer(server);
+        }
+        return server;
+    }
+}
@@ -2,13 +2,22 @@ package dev.satyrn.archersofdecay;
 
 import dev.satyrn.archersofdecay.command.ArchersOfDecayCommand;
 import dev.satyrn.archersofdecay.configuration.Configuration;
+import dev.satyrn.archersofdecay.configuration.ConfigurationWatcher;
+import dev.satyrn.archersofdecay.configuration.ConfigurationWriter;
+import dev.satyrn.archersofdecay.entity.ArcherRegistry;
+import dev.satyrn.archersofdecay.entity.AwarenessThrottler;
 import dev.satyrn.archersofdecay.event.ArchersOfDecayEvents;
+import dev.satyrn.archersofdecay.load.LoadGovernor;
+import dev.satyrn.archersofdecay.stats.PluginStatistics;
+import dev.satyrn.archersofdecay.stats.PrometheusExporter;
 import dev.satyrn.papermc.api.lang.v1.I18n;
 import org.bstats.bukkit.Metrics;
 import org.bstats.charts.SimplePie;
+import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.File;
 import java.util.logging.Level;
 
 /**
@@ -26,6 +35,24 @@ public final class ArchersOfDecay extends JavaPlugin {
     private I18n i18n;
     // The configuration instance.
     private Configuration configuration;
+    // Writes the configuration file off the main thread.
+    private ConfigurationWriter configurationWriter;
+    // Applies changes to the configuration file as it is saved.
+    private ConfigurationWatcher configurationWatcher;
+    // The configuration most recently applied by the watcher, or null to use the configuration loaded from disk.
+    private FileConfiguration watchedConfig;
+    // The registry of converted archers.
+    private ArcherRegistry archerRegistry;
+    // Scales back work while the server is falling behind.
+    private LoadGovernor loadGovernor;
+    // Turns off the AI of archers far away from players.
+    private AwarenessThrottler awarenessThrottler;
+    // The counters and handler timings of the plugin.
+    private PluginStatistics statistics;
+    // Serves the plugin statistics to Prometheus.
+    private PrometheusExporter prometheusExporter;
+    // The event listener manager.
+    private ArchersOfDecayEvents events;
 
     /**
      * Called when the plugin is loaded.
@@ -49,6 +76,8 @@ public final class ArchersOfDecay extends JavaPlugin {
         this.i18n = new I18n(this, "lang");
         this.i18n.enable();
 
+        this.configurationWriter = new ConfigurationWriter(this, new File(this.getDataFolder(), "config.yml").toPath());
+        this.configurationWriter.loaded(this.getConfig().saveToString());
         configuration = new Configuration(this);
         if (configuration.debug.value()) {
             this.getLogger().setLevel(Level.ALL);
@@ -66,8 +95,15 @@ public final class ArchersOfDecay extends JavaPlugin {
             metrics.addCustomChart(new SimplePie("drop_arrows", configuration.dropArrows.value()::toString));
         }
         this.i18n.setLocale(configuration.locale.value());
+        this.statistics = new PluginStatistics();
+        this.archerRegistry = new ArcherRegistry(this);
+        this.loadGovernor = new LoadGovernor(this, configuration);
+        this.awarenessThrottler = new AwarenessThrottler(this, configuration, this.archerRegistry);
+        this.prometheusExporter = new PrometheusExporter(this, configuration, this.statistics, this.archerRegistry);
         this.registerEvents(configuration);
-        this.registerCommand(configuration);
+        this.registerCommand(configuration, events, loadGovernor);
+        this.configurationWatcher = new ConfigurationWatcher(this, configuration, this.configurationWriter, new File(this.getDataFolder(), "config.yml").toPath(), this::applyConfig);
+        this.configurationWatcher.update();
 
         this.getLogger().log(Level.INFO, "Archers of Decay successfully enabled!");
     }
@@ -80,21 +116,97 @@ public final class ArchersOfDecay extends JavaPlugin {
     @Override
     public void onDisable() {
         this.getLogger().log(Level.INFO, "Disabling Archers of Decay!");
+        if (configurationWatcher != null) {
+            configurationWatcher.stop();
+        }
+        if (events != null) {
+            events.stop();
+        }
+        if (loadGovernor != null) {
+            loadGovernor.stop();
+        }
+        if (awarenessThrottler != null) {
+            awarenessThrottler.stop();
+        }
+        if (prometheusExporter != null) {
+            prometheusExporter.stop();
+        }
         if (configuration != null) {
             configuration.save();
         } else {
             saveConfig();
         }
+        if (configurationWriter != null) {
+            configurationWriter.close();
+            configurationWriter = null;
+        }
         this.i18n.disable();
     }
 
+    /**
+     * Saves the configuration file.
+     * <br>
+     * The configuration is serialized immediately, but written to disk from a background thread while the plugin is
+     * enabled. Saving an unchanged configuration does not rewrite the file.
+     *
+     * @since 1.1.0
+     */
+    @Override
+    public void saveConfig() {
+        if (this.configurationWriter == null) {
+            super.saveConfig();
+            return;
+        }
+        this.configurationWriter.write(this.getConfig().saveToString());
+    }
+
+    /**
+     * Reloads the configuration file, after waiting for any pending write to finish.
+     *
+     * @since 1.1.0
+     */
+    @Override
+    public void reloadConfig() {
+        if (this.configurationWriter == null) {
+            super.reloadConfig();
+            return;
+        }
+        this.configurationWriter.flush();
+        this.watchedConfig = null;
+        super.reloadConfig();
+        this.configurationWriter.loaded(this.getConfig().saveToString());
+        if (this.configurationWatcher != null) {
+            this.configurationWatcher.update();
+        }
+    }
+
+    /**
+     * Gets the configuration, including changes applied by the configuration watcher.
+     *
+     * @return The configuration.
+     * @since 1.1.0
+     */
+    @Override
+    public @NotNull FileConfiguration getConfig() {
+        return this.watchedConfig != null ? this.watchedConfig : super.getConfig();
+    }
+
+    // Swaps in a configuration parsed by the configuration watcher and republishes the settings.
+    private void applyConfig(final @NotNull FileConfiguration config) {
+        configuration.reload(() -> this.watchedConfig = config);
+        this.events.register();
+        this.i18n.setLocale(configuration.locale.value());
+        this.configurationWatcher.update();
+    }
+
     // Registers the event listeners for the plugin.
     private void registerEvents(final @NotNull Configuration configuration) {
-        this.getServer().getPluginManager().registerEvents(new ArchersOfDecayEvents(this, configuration), this);
+        this.events = new ArchersOfDecayEvents(this, configuration, this.archerRegistry, this.loadGovernor, this.awarenessThrottler, this.statistics, this.prometheusExporter);
+        this.events.register();
     }
 
     // Registers the command handlers for the plugin.
-    private void registerCommand(final @NotNull Configuration configuration) {
-        new ArchersOfDecayCommand(this, configuration).setupCommand(this, "archersofdecay");
+    private void registerCommand(final @NotNull Configuration configuration, final @NotNull ArchersOfDecayEvents events, final @NotNull LoadGovernor loadGovernor) {
+        new ArchersOfDecayCommand(this, configuration, events, loadGovernor, this.statistics).setupCommand(this, "archersofdecay");
     }
 }
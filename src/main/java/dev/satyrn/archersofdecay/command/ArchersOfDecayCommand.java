@@ -1,9 +1,16 @@
 package dev.satyrn.archersofdecay.command;
 
 import dev.satyrn.archersofdecay.configuration.Configuration;
+import dev.satyrn.archersofdecay.event.ArchersOfDecayEvents;
+import dev.satyrn.archersofdecay.load.LoadGovernor;
+import dev.satyrn.archersofdecay.stats.Counter;
+import dev.satyrn.archersofdecay.stats.Handler;
+import dev.satyrn.archersofdecay.stats.LatencyHistogram;
+import dev.satyrn.archersofdecay.stats.PluginStatistics;
 import dev.satyrn.papermc.api.commands.v1.CommandHandler;
 import dev.satyrn.papermc.api.lang.v1.I18n;
 import org.bukkit.Difficulty;
+import org.bukkit.World;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
@@ -15,9 +22,12 @@ import org.jetbrains.annotations.Nullable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
 
 /**
- * Handles the archersofdecay command, displaying information about the plugin or reloading the configuration.
+ * Handles the archersofdecay command, displaying information or statistics about the plugin or reloading the
+ * configuration.
  *
  * @author Isabel Maskrey
  * @since 0.0.0-SNAPSHOT
@@ -25,15 +35,28 @@ import java.util.Locale;
 public final class ArchersOfDecayCommand extends CommandHandler {
     // The configuration instance.
     public final Configuration configuration;
+    // The event listener manager.
+    private final @NotNull ArchersOfDecayEvents events;
+    // The load governor, reported in the about message.
+    private final @NotNull LoadGovernor loadGovernor;
+    // The plugin statistics, reported by the stats subcommand.
+    private final @NotNull PluginStatistics statistics;
 
     /**
      * Initializes a new command handler.
      * @param plugin The parent plugin.
+     * @param configuration The configuration instance.
+     * @param events The event listener manager, re-registered on reload.
+     * @param loadGovernor The load governor.
+     * @param statistics The plugin statistics.
      * @since 0.0.0-SNAPSHOT
      */
-    public ArchersOfDecayCommand(final @NotNull Plugin plugin, final @NotNull Configuration configuration) {
+    public ArchersOfDecayCommand(final @NotNull Plugin plugin, final @NotNull Configuration configuration, final @NotNull ArchersOfDecayEvents events, final @NotNull LoadGovernor loadGovernor, final @NotNull PluginStatistics statistics) {
         super(plugin);
         this.configuration = configuration;
+        this.events = events;
+        this.loadGovernor = loadGovernor;
+        this.statistics = statistics;
     }
 
     /**
@@ -53,7 +76,8 @@ public final class ArchersOfDecayCommand extends CommandHandler {
     public boolean onCommand(final @NotNull CommandSender sender, final @NotNull Command command, final @NotNull String label, final @NotNull String[] args) {
         if (args.length >= 1 && "reload".equalsIgnoreCase(args[0])) {
             if (sender.hasPermission("archersofdecay.admin")) {
-                this.getPlugin().reloadConfig();
+                this.configuration.reload();
+                this.events.register();
                 final @Nullable I18n instance = I18n.getInstance();
                 if (instance != null) {
                     instance.setLocale(this.configuration.locale.value());
@@ -62,6 +86,15 @@ public final class ArchersOfDecayCommand extends CommandHandler {
             } else {
                 sender.sendMessage(I18n.tr("command.reload.deny"));
             }
+        } else if (args.length >= 1 && "stats".equalsIgnoreCase(args[0])) {
+            if (!sender.hasPermission("archersofdecay.admin")) {
+                sender.sendMessage(I18n.tr("command.stats.deny"));
+            } else if (args.length >= 2 && "reset".equalsIgnoreCase(args[1])) {
+                this.statistics.reset();
+                sender.sendMessage(I18n.tr("command.stats.reset", this.getPlugin().getDescription().getName()));
+            } else {
+                sender.sendMessage(this.formatStatistics());
+            }
         } else {
             final @NotNull StringBuilder aboutMessage = new StringBuilder();
             String pluginName = this.getPlugin().getDescription().getName();
@@ -109,6 +142,11 @@ public final class ArchersOfDecayCommand extends CommandHandler {
                             this.configuration.arrowsOfDecay.effectLevel.value(Difficulty.HARD)));
                 }
             }
+            if (this.loadGovernor.isEnabled()) {
+                aboutMessage.append('\n').append(I18n.tr("command.about.load",
+                        this.loadGovernor.isShedding() ? I18n.tr("command.about.load.shedding") : I18n.tr("command.about.load.normal"),
+                        String.format(Locale.ROOT, "%.1f", this.loadGovernor.getAverageTickTime())));
+            }
 
             sender.sendMessage(aboutMessage.toString());
         }
@@ -132,11 +170,65 @@ public final class ArchersOfDecayCommand extends CommandHandler {
     @Contract(value = "_, _, _, _ -> !null", pure = true)
     public @NotNull List<String> onTabComplete(final @NotNull CommandSender sender, final @NotNull Command command, final @NotNull String alias, final @NotNull String[] args) {
         final List<String> completionOptions = new ArrayList<>();
-        if (args.length == 1) {
-            if (sender.hasPermission("archersofdecay.admin")) {
+        if (sender.hasPermission("archersofdecay.admin")) {
+            if (args.length == 1) {
                 completionOptions.add("reload");
+                completionOptions.add("stats");
+            } else if (args.length == 2 && "stats".equalsIgnoreCase(args[0])) {
+                completionOptions.add("reset");
             }
         }
+        completionOptions.removeIf(option -> !option.startsWith(args[args.length - 1].toLowerCase(Locale.ROOT)));
         return completionOptions;
     }
+
+    // Formats the handler timings and the counters of each world.
+    private @NotNull String formatStatistics() {
+        final double elapsedSeconds = Math.max(this.statistics.elapsed() / 1_000_000_000D, 1D);
+        final @NotNull StringBuilder statsMessage = new StringBuilder(I18n.tr("command.stats",
+                this.getPlugin().getDescription().getName(),
+                String.format(Locale.ROOT, "%.0f", elapsedSeconds)));
+        boolean empty = true;
+        for (final Handler handler : Handler.values()) {
+            final @NotNull LatencyHistogram timings = this.statistics.timings(handler);
+            final long count = timings.count();
+            if (count == 0) {
+                continue;
+            }
+            empty = false;
+            statsMessage.append('\n').append(I18n.tr("command.stats.handler",
+                    handler.getDisplayName(),
+                    count,
+                    String.format(Locale.ROOT, "%.2f", count / elapsedSeconds),
+                    formatMicros(timings.percentile(0.5D)),
+                    formatMicros(timings.percentile(0.99D)),
+                    formatMicros(timings.max())));
+        }
+        for (final Map.Entry<UUID, Map<Difficulty, Map<Counter, Long>>> worldEntry : this.statistics.counters().entrySet()) {
+            final @Nullable World world = this.getPlugin().getServer().getWorld(worldEntry.getKey());
+            final @NotNull String worldName = world == null ? worldEntry.getKey().toString() : world.getName();
+            for (final Map.Entry<Difficulty, Map<Counter, Long>> difficultyEntry : worldEntry.getValue().entrySet()) {
+                empty = false;
+                final @NotNull Map<Counter, Long> counters = difficultyEntry.getValue();
+                statsMessage.append('\n').append(I18n.tr("command.stats.world",
+                        worldName,
+                        difficultyEntry.getKey().toString().toLowerCase(Locale.ROOT),
+                        counters.get(Counter.REPLACEMENTS),
+                        counters.get(Counter.REPLACEMENT_ATTEMPTS),
+                        String.format(Locale.ROOT, "%.2f", counters.get(Counter.REPLACEMENTS) * 60D / elapsedSeconds),
+                        counters.get(Counter.DECORATED_ARROWS),
+                        counters.get(Counter.DROPPED_ARROWS),
+                        counters.get(Counter.LOOTING_ARROWS)));
+            }
+        }
+        if (empty) {
+            statsMessage.append('\n').append(I18n.tr("command.stats.empty"));
+        }
+        return statsMessage.toString();
+    }
+
+    // Formats a duration in nanoseconds as microseconds.
+    private static @NotNull String formatMicros(final long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1000D);
+    }
 }
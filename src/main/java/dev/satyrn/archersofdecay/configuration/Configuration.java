@@ -1,13 +1,22 @@
 package dev.satyrn.archersofdecay.configuration;
 
+import dev.satyrn.archersofdecay.configuration.container.AiThrottlingConfiguration;
+import dev.satyrn.archersofdecay.configuration.container.ArcherCapsConfiguration;
 import dev.satyrn.archersofdecay.configuration.container.ArrowDropConfig;
 import dev.satyrn.archersofdecay.configuration.container.ArrowsOfDecayConfiguration;
+import dev.satyrn.archersofdecay.configuration.container.DeferredSpawningConfiguration;
+import dev.satyrn.archersofdecay.configuration.container.LoadSheddingConfiguration;
+import dev.satyrn.archersofdecay.configuration.container.PrometheusConfiguration;
 import dev.satyrn.archersofdecay.configuration.container.SpawnChancesConfiguration;
+import dev.satyrn.archersofdecay.jfr.ConfigurationFlightEvent;
 import dev.satyrn.papermc.api.configuration.v1.*;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -20,6 +29,9 @@ import java.util.logging.Logger;
 public final class Configuration extends RootNode {
     private static final int CONFIG_VERSION = 1;
 
+    // The compiled settings read by the event handlers.
+    private volatile @NotNull ConfigurationSnapshot snapshot;
+
     /**
      * The locale to use for internationalizing plugin chat messages.
      *
@@ -56,6 +68,20 @@ public final class Configuration extends RootNode {
      */
     public final @NotNull SpawnChancesConfiguration spawnChances = new SpawnChancesConfiguration(this, "spawnChances");
 
+    /**
+     * Limits on the number of converted archers which may exist at once.
+     *
+     * @since 1.1.0
+     */
+    public final @NotNull ArcherCapsConfiguration archerCaps = new ArcherCapsConfiguration(this, "archerCaps");
+
+    /**
+     * Whether replacement wither skeletons are queued and spawned within a time budget per tick.
+     *
+     * @since 1.1.0
+     */
+    public final @NotNull DeferredSpawningConfiguration deferredSpawning = new DeferredSpawningConfiguration(this, "deferredSpawning");
+
     /**
      * Whether armor should be transferred from a spawned skeleton to the replacement wither skeleton.
      *
@@ -121,6 +147,50 @@ public final class Configuration extends RootNode {
      */
     public final @NotNull ArrowDropConfig dropArrows = new ArrowDropConfig(this, "dropArrows");
 
+    /**
+     * Whether arrow effects and arrow drops only apply to wither skeletons converted by the plugin.
+     *
+     * @since 1.1.0
+     */
+    public final @NotNull BooleanNode archersOnly = new BooleanNode(this, "archersOnly") {
+        @Override
+        public @NotNull Boolean defaultValue() {
+            return false;
+        }
+
+        /**
+         * Writes the value of the node to the config file.
+         *
+         * @since 1.1.0
+         */
+        @Override
+        public void save() {
+            super.save();
+
+            if (this.getComments().isEmpty()) {
+                this.setComments(
+                        "Whether arrows of decay, the flaming arrow setting and arrow drops only apply to wither skeletons",
+                        "which were converted from skeletons by the plugin, rather than to every wither skeleton.",
+                        "Defaults to false."
+                );
+            }
+        }
+    };
+
+    /**
+     * Configuration for turning off the AI of archers far away from players.
+     *
+     * @since 1.1.0
+     */
+    public final @NotNull AiThrottlingConfiguration aiThrottling = new AiThrottlingConfiguration(this, "aiThrottling");
+
+    /**
+     * Configuration for scaling back the plugin's work while the server is falling behind.
+     *
+     * @since 1.1.0
+     */
+    public final @NotNull LoadSheddingConfiguration loadShedding = new LoadSheddingConfiguration(this, "loadShedding");
+
     /**
      * Whether debug mode should be enabled for the plugin.
      *
@@ -145,6 +215,36 @@ public final class Configuration extends RootNode {
         }
     };
 
+    /**
+     * Whether changes to the configuration file are applied without a reload command.
+     *
+     * @since 1.1.0
+     */
+    public final @NotNull BooleanNode hotReload = new BooleanNode(this, "hotReload") {
+        @Override
+        public @NotNull Boolean defaultValue() {
+            return false;
+        }
+
+        /**
+         * Writes the value of the node to the config file.
+         *
+         * @since 1.1.0
+         */
+        @Override
+        public void save() {
+            super.save();
+
+            if (this.getComments().isEmpty()) {
+                this.setComments(
+                        "Whether to apply changes to this file as soon as it is saved, without running the reload command.",
+                        "Changes which are not valid are rejected and logged, and the current settings are kept.",
+                        "Defaults to false."
+                );
+            }
+        }
+    };
+
     /**
      * Whether metrics should be collected for the plugin.
      *
@@ -173,6 +273,13 @@ public final class Configuration extends RootNode {
         }
     };
 
+    /**
+     * Whether the plugin's statistics are served locally in the Prometheus text format.
+     *
+     * @since 1.1.0
+     */
+    public final @NotNull PrometheusConfiguration prometheus = new PrometheusConfiguration(this, "prometheus");
+
     /**
      * Creates a new configuration instance for the plugin.
      *
@@ -181,6 +288,96 @@ public final class Configuration extends RootNode {
      */
     public Configuration(@NotNull Plugin plugin) {
         super(plugin);
+        this.snapshot = new ConfigurationSnapshot(this);
+    }
+
+    /**
+     * Gets the compiled settings for the current configuration.
+     *
+     * @return The current snapshot.
+     * @since 1.1.0
+     */
+    public @NotNull ConfigurationSnapshot snapshot() {
+        return this.snapshot;
+    }
+
+    /**
+     * Gets the per-world and per-biome override sections, which are not described by configuration nodes.
+     *
+     * @return The overrides section, or null if it is not set.
+     * @since 1.1.0
+     */
+    @Nullable ConfigurationSection overrides() {
+        return this.getConfig().getConfigurationSection("overrides");
+    }
+
+    /**
+     * Gets the replacement rules, which are not described by configuration nodes.
+     *
+     * @return The rules as read from the configuration file, or an empty list if none are set.
+     * @since 1.1.0
+     */
+    @NotNull List<Map<?, ?>> replacementRules() {
+        return this.getConfig().getMapList("replacementRules");
+    }
+
+    /**
+     * Gets the plugin logger.
+     *
+     * @return The logger.
+     * @since 1.1.0
+     */
+    @NotNull Logger logger() {
+        return this.getPlugin().getLogger();
+    }
+
+    /**
+     * Recompiles the configuration snapshot and publishes it to the event handlers.
+     *
+     * @return The new snapshot.
+     * @since 1.1.0
+     */
+    public @NotNull ConfigurationSnapshot compile() {
+        final @NotNull ConfigurationSnapshot compiled = new ConfigurationSnapshot(this);
+        this.snapshot = compiled;
+        return compiled;
+    }
+
+    /**
+     * Reloads the configuration file from disk and recompiles the snapshot.
+     *
+     * @since 1.1.0
+     */
+    public void reload() {
+        this.reload(this.getPlugin()::reloadConfig);
+    }
+
+    /**
+     * Loads the configuration through a loader and recompiles the snapshot. Both reloads from disk and changes applied
+     * by the configuration watcher are recorded as a reload.
+     *
+     * @param loader Loads the new configuration into the plugin.
+     * @since 1.1.0
+     */
+    public void reload(final @NotNull Runnable loader) {
+        final @NotNull ConfigurationFlightEvent flightEvent = new ConfigurationFlightEvent(ConfigurationFlightEvent.RELOAD);
+        flightEvent.begin();
+        loader.run();
+        this.compile();
+        flightEvent.commit();
+    }
+
+    /**
+     * Writes the configuration to disk.
+     *
+     * @since 1.1.0
+     */
+    @Override
+    public void save() {
+        final @NotNull ConfigurationFlightEvent flightEvent = new ConfigurationFlightEvent(ConfigurationFlightEvent.SAVE);
+        flightEvent.begin();
+        super.save();
+        flightEvent.commit();
     }
 
     /**
@@ -208,6 +405,7 @@ public final class Configuration extends RootNode {
         }
 
         this.save();
+        this.compile();
     }
 
     // Upgrades the config from version 0 to version 1.
@@ -0,0 +1,124 @@
+package dev.satyrn.archersofdecay.configuration;
+
+import org.bukkit.Difficulty;
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The difficulty-dependent settings replaced by a single world or biome override section.
+ * <br>
+ * Settings which the section does not set are inherited from the layer below. Values which are out of bounds are
+ * logged and ignored.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+final class ConfigurationOverride {
+    // Marks an unset duration or effect level.
+    private static final int UNSET = Integer.MIN_VALUE;
+
+    // Spawn chances, indexed by difficulty ordinal, or NaN where unset.
+    private final double[] spawnChances;
+    // Wither effect durations in ticks, indexed by difficulty ordinal, or UNSET.
+    private final int[] effectDurations;
+    // Wither effect levels, indexed by difficulty ordinal, or UNSET.
+    private final int[] effectLevels;
+
+    // Reads an override section.
+    private ConfigurationOverride(final @NotNull ConfigurationSection section, final @NotNull Logger logger) {
+        final Difficulty[] difficulties = Difficulty.values();
+        this.spawnChances = new double[difficulties.length];
+        this.effectDurations = new int[difficulties.length];
+        this.effectLevels = new int[difficulties.length];
+        Arrays.fill(this.spawnChances, Double.NaN);
+        Arrays.fill(this.effectDurations, UNSET);
+        Arrays.fill(this.effectLevels, UNSET);
+        for (final Difficulty difficulty : difficulties) {
+            final int index = difficulty.ordinal();
+            final @NotNull String key = difficulty.name().toLowerCase(Locale.ROOT);
+            final @Nullable Object spawnChance = read(section, "spawnChances." + key, logger);
+            if (spawnChance != null) {
+                this.spawnChances[index] = ((Number) spawnChance).doubleValue();
+            }
+            final @Nullable Object effectDuration = read(section, "arrowsOfDecay.duration." + key, logger);
+            if (effectDuration != null) {
+                this.effectDurations[index] = (Integer) effectDuration;
+            }
+            final @Nullable Object effectLevel = read(section, "arrowsOfDecay.effectLevel." + key, logger);
+            if (effectLevel != null) {
+                this.effectLevels[index] = (Integer) effectLevel;
+            }
+        }
+    }
+
+    /**
+     * Reads an override section.
+     *
+     * @param section The section, or null if it is not set.
+     * @param logger  The logger for invalid settings.
+     * @return The override, or null if the section is not set.
+     * @since 1.1.0
+     */
+    static @Nullable ConfigurationOverride read(final @Nullable ConfigurationSection section, final @NotNull Logger logger) {
+        return section == null ? null : new ConfigurationOverride(section, logger);
+    }
+
+    /**
+     * Applies the spawn chance override for a difficulty.
+     *
+     * @param override    The override, or null if there is none.
+     * @param difficulty  The difficulty ordinal.
+     * @param spawnChance The inherited spawn chance.
+     * @return The effective spawn chance.
+     * @since 1.1.0
+     */
+    static double spawnChance(final @Nullable ConfigurationOverride override, final int difficulty, final double spawnChance) {
+        return override == null || Double.isNaN(override.spawnChances[difficulty]) ? spawnChance : override.spawnChances[difficulty];
+    }
+
+    /**
+     * Applies the effect duration override for a difficulty.
+     *
+     * @param override       The override, or null if there is none.
+     * @param difficulty     The difficulty ordinal.
+     * @param effectDuration The inherited effect duration.
+     * @return The effective effect duration.
+     * @since 1.1.0
+     */
+    static int effectDuration(final @Nullable ConfigurationOverride override, final int difficulty, final int effectDuration) {
+        return override == null || override.effectDurations[difficulty] == UNSET ? effectDuration : override.effectDurations[difficulty];
+    }
+
+    /**
+     * Applies the effect level override for a difficulty.
+     *
+     * @param override    The override, or null if there is none.
+     * @param difficulty  The difficulty ordinal.
+     * @param effectLevel The inherited effect level.
+     * @return The effective effect level.
+     * @since 1.1.0
+     */
+    static int effectLevel(final @Nullable ConfigurationOverride override, final int difficulty, final int effectLevel) {
+        return override == null || override.effectLevels[difficulty] == UNSET ? effectLevel : override.effectLevels[difficulty];
+    }
+
+    // Reads a setting, returning null if it is unset or invalid.
+    private static @Nullable Object read(final @NotNull ConfigurationSection section, final @NotNull String path, final @NotNull Logger logger) {
+        if (!section.isSet(path)) {
+            return null;
+        }
+        final @Nullable Object value = section.get(path);
+        final @Nullable String problem = ConfigurationValidator.checkOverride(path, value);
+        if (problem != null) {
+            logger.log(Level.WARNING, "[Config] Ignoring {0}.{1} {2}", new Object[]{section.getCurrentPath(), path, problem});
+            return null;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,591 @@
+package dev.satyrn.archersofdecay.configuration;
+
+import org.bukkit.Color;
+import org.bukkit.Difficulty;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Biome;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.PotionMeta;
+import org.bukkit.potion.PotionData;
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.potion.PotionEffectType;
+import org.bukkit.potion.PotionType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An immutable, primitive-typed copy of the plugin configuration.
+ * <br>
+ * Event handlers read settings through a snapshot instead of walking the configuration node tree, so each lookup
+ * costs a field read or an array index.
+ * <br>
+ * Difficulty-dependent values can be overridden per world and per biome. The overrides are resolved when the snapshot
+ * is compiled, into dense tables with one cell for every combination of world slot, biome and difficulty, so looking up
+ * a value costs the same however many overrides are configured. Overrides apply in order of precedence: the global
+ * settings, then biome overrides, then world overrides, then biome overrides within a world.
+ * <br>
+ * The snapshot also holds the immutable potion objects and the arrow item templates derived from the configuration,
+ * so handlers do not rebuild them for every arrow or drop. They are discarded along with the snapshot on reload.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+public final class ConfigurationSnapshot {
+    /**
+     * The base potion data applied to arrows of decay.
+     *
+     * @since 1.1.0
+     */
+    public static final @NotNull PotionData UNCRAFTABLE = new PotionData(PotionType.UNCRAFTABLE);
+
+    // The number of difficulties, which is the stride between biome rows.
+    private static final int DIFFICULTIES = Difficulty.values().length;
+
+    // The slot of each world with an override section, keyed by world name. Other worlds use slot 0.
+    private final @NotNull Map<String, Integer> worldSlots;
+    // The number of biome rows in each world slot. Row 0 holds the values used where the biome is not known.
+    private final int biomeRows;
+    // Spawn chances, indexed by cell.
+    private final double[] spawnChances;
+    // Wither effect durations in ticks, indexed by cell.
+    private final int[] effectDurations;
+    // Wither effect levels, indexed by cell.
+    private final int[] effectLevels;
+    // Whether fired arrows are tipped with the wither effect, indexed by cell.
+    private final boolean[] decayArrows;
+    // Whether dropped arrows are tipped with the wither effect, indexed by cell.
+    private final boolean[] tippedArrowDrops;
+    // The wither effect applied by arrows of decay, indexed by cell, or null if no effect applies.
+    private final @Nullable PotionEffect[] decayEffects;
+    // Single arrow item templates for arrow drops, indexed by cell.
+    private final @NotNull ItemStack[] arrowDrops;
+
+    /**
+     * Whether any biome overrides are configured. If not, the biome is never looked up.
+     *
+     * @since 1.1.0
+     */
+    public final boolean biomeOverrides;
+
+    /**
+     * Whether armor transfers from the skeleton to the replacement wither skeleton.
+     *
+     * @since 1.1.0
+     */
+    public final boolean transferArmor;
+
+    /**
+     * Whether wither skeletons fire flaming arrows regardless of their bow enchantments.
+     *
+     * @since 1.1.0
+     */
+    public final boolean flamingArrows;
+
+    /**
+     * Whether arrows of decay are enabled.
+     *
+     * @since 1.1.0
+     */
+    public final boolean arrowsOfDecay;
+
+    /**
+     * Whether wither skeletons holding a bow drop arrows on death.
+     *
+     * @since 1.1.0
+     */
+    public final boolean dropArrows;
+
+    /**
+     * Whether dropped arrows should be tipped with the wither effect.
+     *
+     * @since 1.1.0
+     */
+    public final boolean dropTippedArrows;
+
+    /**
+     * Whether arrow drops in the same block during the same tick are merged into a single item.
+     *
+     * @since 1.1.0
+     */
+    public final boolean coalesceDrops;
+
+    /**
+     * Whether the number of converted archers is limited.
+     *
+     * @since 1.1.0
+     */
+    public final boolean archerCaps;
+
+    /**
+     * The maximum number of archers per chunk, or {@link Integer#MAX_VALUE} if unlimited.
+     *
+     * @since 1.1.0
+     */
+    public final int perChunkCap;
+
+    /**
+     * The maximum number of archers per world, or {@link Integer#MAX_VALUE} if unlimited.
+     *
+     * @since 1.1.0
+     */
+    public final int perWorldCap;
+
+    /**
+     * Whether arrow effects and arrow drops only apply to wither skeletons converted by the plugin.
+     *
+     * @since 1.1.0
+     */
+    public final boolean archersOnly;
+
+    /**
+     * Whether replacement wither skeletons are queued and spawned over the following ticks.
+     *
+     * @since 1.1.0
+     */
+    public final boolean deferredSpawning;
+
+    /**
+     * The maximum number of queued spawns.
+     *
+     * @since 1.1.0
+     */
+    public final int spawnQueueSize;
+
+    /**
+     * The time in nanoseconds spent spawning queued wither skeletons each tick.
+     *
+     * @since 1.1.0
+     */
+    public final long spawnTickBudget;
+
+    /**
+     * Whether the plugin needs to keep track of the archers it has converted.
+     *
+     * @since 1.1.0
+     */
+    public final boolean trackArchers;
+
+    /**
+     * Whether archers far away from every player stop running their AI.
+     *
+     * @since 1.1.0
+     */
+    public final boolean aiThrottling;
+
+    /**
+     * The distance in blocks from the nearest player beyond which an archer's AI is turned off.
+     *
+     * @since 1.1.0
+     */
+    public final int aiThrottlingDistance;
+
+    /**
+     * The number of archers checked for AI throttling per tick.
+     *
+     * @since 1.1.0
+     */
+    public final int aiThrottlingArchersPerTick;
+
+    /**
+     * Whether the plugin scales back its work while the server is falling behind.
+     *
+     * @since 1.1.0
+     */
+    public final boolean loadShedding;
+
+    /**
+     * The average tick time in milliseconds at which load shedding starts.
+     *
+     * @since 1.1.0
+     */
+    public final double sheddingMspt;
+
+    /**
+     * The average tick time in milliseconds at which load shedding stops.
+     *
+     * @since 1.1.0
+     */
+    public final double recoveryMspt;
+
+    /**
+     * The factor applied to spawn chances while shedding load.
+     *
+     * @since 1.1.0
+     */
+    public final double sheddingSpawnChanceScale;
+
+    /**
+     * Whether the plugin's statistics are served in the Prometheus text format.
+     *
+     * @since 1.1.0
+     */
+    public final boolean prometheus;
+
+    /**
+     * The address the Prometheus exporter listens on.
+     *
+     * @since 1.1.0
+     */
+    public final @NotNull String prometheusAddress;
+
+    /**
+     * The port the Prometheus exporter listens on.
+     *
+     * @since 1.1.0
+     */
+    public final int prometheusPort;
+
+    /**
+     * Whether arrows of decay apply the wither effect on hit instead of being fired as tipped arrows.
+     * Only true if the effect applies at some difficulty.
+     *
+     * @since 1.1.0
+     */
+    public final boolean lightweightArrows;
+
+    /**
+     * The rules for replacing mobs as they spawn, including the built-in rule if any spawn chance is above zero.
+     *
+     * @since 1.1.0
+     */
+    public final @NotNull ReplacementRules replacementRules;
+
+    /**
+     * Whether any replacement rule can replace a spawn at any difficulty.
+     *
+     * @since 1.1.0
+     */
+    public final boolean replaceSpawns;
+
+    /**
+     * Whether arrows fired by wither skeletons are modified at any difficulty, either by applying the wither effect or
+     * by removing vanilla flames.
+     *
+     * @since 1.1.0
+     */
+    public final boolean modifyArrows;
+
+    /**
+     * Compiles a snapshot from the current state of the configuration.
+     *
+     * @param configuration The configuration to read.
+     * @since 1.1.0
+     */
+    ConfigurationSnapshot(final @NotNull Configuration configuration) {
+        this.transferArmor = configuration.transferArmor.value();
+        this.flamingArrows = configuration.flamingArrows.value();
+        this.arrowsOfDecay = configuration.arrowsOfDecay.value();
+        this.dropArrows = configuration.dropArrows.value();
+        this.dropTippedArrows = configuration.dropArrows.dropTippedArrows.value();
+        this.coalesceDrops = configuration.dropArrows.coalesce.value();
+        this.archersOnly = configuration.archersOnly.value();
+        this.archerCaps = configuration.archerCaps.value();
+        this.perChunkCap = unlimitedIfZero(configuration.archerCaps.perChunk.value());
+        this.perWorldCap = unlimitedIfZero(configuration.archerCaps.perWorld.value());
+        this.deferredSpawning = configuration.deferredSpawning.value();
+        this.spawnQueueSize = configuration.deferredSpawning.queueSize.value();
+        this.spawnTickBudget = (long) (configuration.deferredSpawning.tickBudget.value() * 1_000_000D);
+        this.aiThrottling = configuration.aiThrottling.value();
+        this.aiThrottlingDistance = configuration.aiThrottling.distance.value();
+        this.aiThrottlingArchersPerTick = configuration.aiThrottling.archersPerTick.value();
+        this.trackArchers = this.archersOnly || this.archerCaps || this.aiThrottling;
+        this.loadShedding = configuration.loadShedding.value();
+        this.sheddingMspt = configuration.loadShedding.sheddingMspt.value();
+        this.recoveryMspt = Math.min(this.sheddingMspt, configuration.loadShedding.recoveryMspt.value());
+        this.sheddingSpawnChanceScale = configuration.loadShedding.spawnChanceScale.value();
+        this.prometheus = configuration.prometheus.value();
+        this.prometheusAddress = configuration.prometheus.address.value();
+        this.prometheusPort = configuration.prometheus.port.value();
+
+        final @NotNull Logger logger = configuration.logger();
+        final @Nullable ConfigurationSection overrides = configuration.overrides();
+        final @Nullable ConfigurationSection worlds = overrides == null ? null : overrides.getConfigurationSection("worlds");
+        final @NotNull List<String> worldNames = worlds == null ? List.of() : new ArrayList<>(worlds.getKeys(false));
+        final int slots = worldNames.size() + 1;
+        final Biome[] biomes = Biome.values();
+
+        // Read each override section once; slot 0 has no world override.
+        final @Nullable ConfigurationOverride[] worldOverrides = new ConfigurationOverride[slots];
+        final @Nullable ConfigurationOverride[][] worldBiomeOverrides = new ConfigurationOverride[slots][];
+        final @Nullable ConfigurationOverride[] globalBiomeOverrides = readBiomeOverrides(overrides, biomes, logger);
+        boolean biomeOverrides = globalBiomeOverrides != null;
+        this.worldSlots = new HashMap<>();
+        for (int slot = 1; slot < slots; slot++) {
+            final @NotNull String worldName = worldNames.get(slot - 1);
+            final @Nullable ConfigurationSection worldSection = worlds.getConfigurationSection(worldName);
+            this.worldSlots.put(worldName, slot);
+            worldOverrides[slot] = ConfigurationOverride.read(worldSection, logger);
+            worldBiomeOverrides[slot] = readBiomeOverrides(worldSection, biomes, logger);
+            biomeOverrides |= worldBiomeOverrides[slot] != null;
+        }
+        this.biomeOverrides = biomeOverrides;
+        this.biomeRows = biomeOverrides ? biomes.length + 1 : 1;
+
+        final int cells = slots * this.biomeRows * DIFFICULTIES;
+        this.spawnChances = new double[cells];
+        this.effectDurations = new int[cells];
+        this.effectLevels = new int[cells];
+        this.decayArrows = new boolean[cells];
+        this.tippedArrowDrops = new boolean[cells];
+        this.decayEffects = new PotionEffect[cells];
+        this.arrowDrops = new ItemStack[cells];
+        // Cells with the same effect share their potion effect and arrow template.
+        final @NotNull Map<Long, PotionEffect> effects = new HashMap<>();
+        final @NotNull Map<Long, ItemStack> tippedArrows = new HashMap<>();
+        final @NotNull ItemStack plainArrow = new ItemStack(Material.ARROW);
+        boolean replaceSkeletons = false;
+        boolean decayArrows = false;
+        for (final Difficulty difficulty : Difficulty.values()) {
+            final int d = difficulty.ordinal();
+            final double baseSpawnChance = configuration.spawnChances.value(difficulty);
+            final int baseEffectDuration = configuration.arrowsOfDecay.duration.value(difficulty);
+            final int baseEffectLevel = configuration.arrowsOfDecay.effectLevel.value(difficulty);
+            for (int slot = 0; slot < slots; slot++) {
+                for (int row = 0; row < this.biomeRows; row++) {
+                    final @Nullable ConfigurationOverride globalBiomeOverride = row == 0 || globalBiomeOverrides == null ? null : globalBiomeOverrides[row - 1];
+                    final @Nullable ConfigurationOverride worldBiomeOverride = row == 0 || worldBiomeOverrides[slot] == null ? null : worldBiomeOverrides[slot][row - 1];
+                    double spawnChance = ConfigurationOverride.spawnChance(globalBiomeOverride, d, baseSpawnChance);
+                    spawnChance = ConfigurationOverride.spawnChance(worldOverrides[slot], d, spawnChance);
+                    spawnChance = ConfigurationOverride.spawnChance(worldBiomeOverride, d, spawnChance);
+                    int effectDuration = ConfigurationOverride.effectDuration(globalBiomeOverride, d, baseEffectDuration);
+                    effectDuration = ConfigurationOverride.effectDuration(worldOverrides[slot], d, effectDuration);
+                    effectDuration = ConfigurationOverride.effectDuration(worldBiomeOverride, d, effectDuration);
+                    int effectLevel = ConfigurationOverride.effectLevel(globalBiomeOverride, d, baseEffectLevel);
+                    effectLevel = ConfigurationOverride.effectLevel(worldOverrides[slot], d, effectLevel);
+                    effectLevel = ConfigurationOverride.effectLevel(worldBiomeOverride, d, effectLevel);
+
+                    final int index = this.cell(slot, row, difficulty);
+                    this.spawnChances[index] = spawnChance;
+                    this.effectDurations[index] = effectDuration;
+                    this.effectLevels[index] = effectLevel;
+
+                    final boolean effectApplies = effectDuration > 0 && effectLevel >= 0;
+                    this.decayArrows[index] = this.arrowsOfDecay && effectApplies;
+                    this.tippedArrowDrops[index] = this.dropTippedArrows && effectApplies;
+                    final long effectKey = ((long) effectLevel << 32) | (effectDuration & 0xFFFFFFFFL);
+                    if (effectApplies) {
+                        this.decayEffects[index] = effects.computeIfAbsent(effectKey, key -> new PotionEffect(PotionEffectType.WITHER, (int) key.longValue(), (int) (key >>> 32)));
+                    }
+                    this.arrowDrops[index] = this.tippedArrowDrops[index]
+                            ? tippedArrows.computeIfAbsent(effectKey, key -> createTippedArrow(effects.get(key)))
+                            : plainArrow;
+
+                    replaceSkeletons |= spawnChance > 0;
+                    decayArrows |= this.decayArrows[index];
+                }
+            }
+        }
+        if (slots > 1 || biomeOverrides) {
+            logger.log(Level.FINE, "[Config] Compiled overrides for {0} world(s) into {1} cell(s).", new Object[]{slots - 1, cells});
+        }
+        final @NotNull List<String> problems = new ArrayList<>();
+        final @NotNull List<ReplacementRule> rules = ReplacementRules.read(configuration.replacementRules(), problems);
+        for (final String problem : problems) {
+            logger.log(Level.WARNING, "[Config] Ignoring invalid replacement rule: {0}", problem);
+        }
+        if (replaceSkeletons) {
+            rules.add(ReplacementRule.builtIn());
+        }
+        this.replacementRules = new ReplacementRules(rules);
+        this.replaceSpawns = replaceSkeletons || this.replacementRules.anyRuleChance();
+        this.modifyArrows = decayArrows || !this.flamingArrows;
+        this.lightweightArrows = decayArrows && configuration.arrowsOfDecay.lightweight.value();
+    }
+
+    /**
+     * Gets the slot of a world in the lookup tables.
+     *
+     * @param world The world.
+     * @return The world slot, or 0 if the world has no override section.
+     * @since 1.1.0
+     */
+    public int worldSlot(final @NotNull World world) {
+        final @Nullable Integer slot = this.worldSlots.get(world.getName());
+        return slot == null ? 0 : slot;
+    }
+
+    /**
+     * Gets the row of a biome in the lookup tables.
+     *
+     * @param biome The biome, or null if it is not known.
+     * @return The biome row, or 0 if no biome overrides are configured or the biome is not known.
+     * @since 1.1.0
+     */
+    public int biomeRow(final @Nullable Biome biome) {
+        return this.biomeOverrides && biome != null ? biome.ordinal() + 1 : 0;
+    }
+
+    /**
+     * Gets the index of the cell which holds the settings for a world slot, biome row and difficulty.
+     *
+     * @param worldSlot  The world slot.
+     * @param biomeRow   The biome row.
+     * @param difficulty The world difficulty.
+     * @return The cell index.
+     * @since 1.1.0
+     */
+    public int cell(final int worldSlot, final int biomeRow, final @NotNull Difficulty difficulty) {
+        return (worldSlot * this.biomeRows + biomeRow) * DIFFICULTIES + difficulty.ordinal();
+    }
+
+    /**
+     * Gets the index of the cell which holds the settings at a location, starting from the cell of the world at its
+     * current difficulty. The biome is only looked up if biome overrides are configured.
+     *
+     * @param worldCell The cell of the world slot and difficulty, in biome row 0.
+     * @param world     The world.
+     * @param location  The location.
+     * @return The cell index.
+     * @since 1.1.0
+     */
+    public int cell(final int worldCell, final @NotNull World world, final @NotNull Location location) {
+        if (!this.biomeOverrides) {
+            return worldCell;
+        }
+        return worldCell + this.biomeRow(world.getBiome(location.getBlockX(), location.getBlockY(), location.getBlockZ())) * DIFFICULTIES;
+    }
+
+    /**
+     * Whether skeletons can be replaced anywhere in a world slot at a difficulty.
+     *
+     * @param worldSlot  The world slot.
+     * @param difficulty The world difficulty.
+     * @return True if the spawn chance is above zero in any biome row.
+     * @since 1.1.0
+     */
+    public boolean anySpawnChance(final int worldSlot, final @NotNull Difficulty difficulty) {
+        for (int row = 0; row < this.biomeRows; row++) {
+            if (this.spawnChances[this.cell(worldSlot, row, difficulty)] > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the chance that a skeleton is replaced with a wither skeleton archer.
+     *
+     * @param cell The cell index.
+     * @return The spawn chance, between 0 and 1.
+     * @since 1.1.0
+     */
+    public double spawnChance(final int cell) {
+        return this.spawnChances[cell];
+    }
+
+    /**
+     * Gets the duration of the wither effect applied by arrows of decay.
+     *
+     * @param cell The cell index.
+     * @return The duration in ticks.
+     * @since 1.1.0
+     */
+    public int effectDuration(final int cell) {
+        return this.effectDurations[cell];
+    }
+
+    /**
+     * Gets the level of the wither effect applied by arrows of decay.
+     *
+     * @param cell The cell index.
+     * @return The effect level.
+     * @since 1.1.0
+     */
+    public int effectLevel(final int cell) {
+        return this.effectLevels[cell];
+    }
+
+    /**
+     * Whether arrows fired by wither skeletons are tipped with the wither effect.
+     *
+     * @param cell The cell index.
+     * @return True if arrows of decay are enabled and the effect applies in this cell.
+     * @since 1.1.0
+     */
+    public boolean decayArrows(final int cell) {
+        return this.decayArrows[cell];
+    }
+
+    /**
+     * Whether arrows dropped by wither skeletons are tipped with the wither effect.
+     *
+     * @param cell The cell index.
+     * @return True if tipped arrow drops are enabled and the effect applies in this cell.
+     * @since 1.1.0
+     */
+    public boolean tippedArrowDrops(final int cell) {
+        return this.tippedArrowDrops[cell];
+    }
+
+    /**
+     * Gets the wither effect applied by arrows of decay.
+     *
+     * @param cell The cell index.
+     * @return The effect, or null if the configured duration or level disables it in this cell.
+     * @since 1.1.0
+     */
+    public @Nullable PotionEffect decayEffect(final int cell) {
+        return this.decayEffects[cell];
+    }
+
+    /**
+     * Creates a stack of the arrows dropped by wither skeletons.
+     *
+     * @param cell  The cell index.
+     * @param count The number of arrows in the stack.
+     * @return A new stack, tipped with the wither effect if tipped arrow drops apply in this cell.
+     * @since 1.1.0
+     */
+    public @NotNull ItemStack arrowDrop(final int cell, final int count) {
+        final @NotNull ItemStack arrows = this.arrowDrops[cell].clone();
+        arrows.setAmount(count);
+        return arrows;
+    }
+
+    // Treats a limit of zero as no limit.
+    private static int unlimitedIfZero(final int limit) {
+        return limit == 0 ? Integer.MAX_VALUE : limit;
+    }
+
+    // Reads the biome override sections within a section, indexed by biome ordinal, or returns null if there are none.
+    private static @Nullable ConfigurationOverride[] readBiomeOverrides(final @Nullable ConfigurationSection section, final @NotNull Biome[] biomes, final @NotNull Logger logger) {
+        final @Nullable ConfigurationSection biomeSections = section == null ? null : section.getConfigurationSection("biomes");
+        if (biomeSections == null) {
+            return null;
+        }
+        final @Nullable ConfigurationOverride[] overrides = new ConfigurationOverride[biomes.length];
+        boolean any = false;
+        for (final String name : biomeSections.getKeys(false)) {
+            final @Nullable Biome biome = ConfigurationValidator.biome(name);
+            if (biome == null) {
+                logger.log(Level.WARNING, "[Config] Ignoring {0}.{1}; there is no such biome.", new Object[]{biomeSections.getCurrentPath(), name});
+                continue;
+            }
+            overrides[biome.ordinal()] = ConfigurationOverride.read(biomeSections.getConfigurationSection(name), logger);
+            any |= overrides[biome.ordinal()] != null;
+        }
+        return any ? overrides : null;
+    }
+
+    // Creates the template for a wither-tipped arrow.
+    private static @NotNull ItemStack createTippedArrow(final @NotNull PotionEffect effect) {
+        final @NotNull ItemStack arrow = new ItemStack(Material.TIPPED_ARROW);
+        if (arrow.getItemMeta() instanceof final PotionMeta potionMeta) {
+            potionMeta.setBasePotionData(UNCRAFTABLE);
+            potionMeta.addCustomEffect(effect, true);
+            potionMeta.setColor(Color.BLACK);
+            arrow.setItemMeta(potionMeta);
+        }
+        return arrow;
+    }
+}
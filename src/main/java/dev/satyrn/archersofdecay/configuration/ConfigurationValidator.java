@@ -0,0 +1,244 @@
+package dev.satyrn.archersofdecay.configuration;
+
+import dev.satyrn.archersofdecay.configuration.container.AiThrottlingConfiguration;
+import dev.satyrn.archersofdecay.configuration.container.ArcherCapsConfiguration;
+import dev.satyrn.archersofdecay.configuration.container.ArrowsOfDecayEffectDurationConfiguration;
+import dev.satyrn.archersofdecay.configuration.container.ArrowsOfDecayEffectLevelConfiguration;
+import dev.satyrn.archersofdecay.configuration.container.DeferredSpawningConfiguration;
+import dev.satyrn.archersofdecay.configuration.container.LoadSheddingConfiguration;
+import dev.satyrn.archersofdecay.configuration.container.PrometheusConfiguration;
+import dev.satyrn.archersofdecay.configuration.container.SpawnChancesConfiguration;
+import org.bukkit.block.Biome;
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Checks a parsed configuration file against the types and bounds of the configuration nodes.
+ * <br>
+ * The rules take their bounds from the same constants the containers of {@link Configuration} pass to each
+ * {@code IntegerNode} and {@code DoubleNode}, so the validator and the nodes cannot disagree. Settings which are not present are not checked, since the node
+ * defaults apply. World and biome override sections are checked against the rules of the settings they override, and
+ * each replacement rule is read the same way it is when the configuration is compiled.
+ * Safe to use from any thread on a configuration which is not shared.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+final class ConfigurationValidator {
+    // The rules for each setting, keyed by path.
+    private static final @NotNull List<Rule> RULES = List.of(
+            Rule.string("locale"),
+            Rule.decimal("spawnChances.easy", SpawnChancesConfiguration.MIN_CHANCE, SpawnChancesConfiguration.MAX_CHANCE),
+            Rule.decimal("spawnChances.normal", SpawnChancesConfiguration.MIN_CHANCE, SpawnChancesConfiguration.MAX_CHANCE),
+            Rule.decimal("spawnChances.hard", SpawnChancesConfiguration.MIN_CHANCE, SpawnChancesConfiguration.MAX_CHANCE),
+            Rule.bool("archerCaps.enabled"),
+            Rule.integer("archerCaps.perChunk", ArcherCapsConfiguration.MIN_CAP, ArcherCapsConfiguration.MAX_CAP),
+            Rule.integer("archerCaps.perWorld", ArcherCapsConfiguration.MIN_CAP, ArcherCapsConfiguration.MAX_CAP),
+            Rule.bool("deferredSpawning.enabled"),
+            Rule.integer("deferredSpawning.queueSize", DeferredSpawningConfiguration.MIN_QUEUE_SIZE, DeferredSpawningConfiguration.MAX_QUEUE_SIZE),
+            Rule.decimal("deferredSpawning.tickBudget", DeferredSpawningConfiguration.MIN_TICK_BUDGET, DeferredSpawningConfiguration.MAX_TICK_BUDGET),
+            Rule.bool("flamingArrows"),
+            Rule.bool("transferArmor"),
+            Rule.bool("arrowsOfDecay.enabled"),
+            Rule.integer("arrowsOfDecay.duration.easy", ArrowsOfDecayEffectDurationConfiguration.MIN_DURATION, ArrowsOfDecayEffectDurationConfiguration.MAX_DURATION),
+            Rule.integer("arrowsOfDecay.duration.normal", ArrowsOfDecayEffectDurationConfiguration.MIN_DURATION, ArrowsOfDecayEffectDurationConfiguration.MAX_DURATION),
+            Rule.integer("arrowsOfDecay.duration.hard", ArrowsOfDecayEffectDurationConfiguration.MIN_DURATION, ArrowsOfDecayEffectDurationConfiguration.MAX_DURATION),
+            Rule.integer("arrowsOfDecay.effectLevel.easy", ArrowsOfDecayEffectLevelConfiguration.MIN_EFFECT_LEVEL, ArrowsOfDecayEffectLevelConfiguration.MAX_EFFECT_LEVEL),
+            Rule.integer("arrowsOfDecay.effectLevel.normal", ArrowsOfDecayEffectLevelConfiguration.MIN_EFFECT_LEVEL, ArrowsOfDecayEffectLevelConfiguration.MAX_EFFECT_LEVEL),
+            Rule.integer("arrowsOfDecay.effectLevel.hard", ArrowsOfDecayEffectLevelConfiguration.MIN_EFFECT_LEVEL, ArrowsOfDecayEffectLevelConfiguration.MAX_EFFECT_LEVEL),
+            Rule.bool("arrowsOfDecay.lightweight"),
+            Rule.bool("dropArrows.enabled"),
+            Rule.bool("dropArrows.dropTippedArrows"),
+            Rule.bool("dropArrows.coalesce"),
+            Rule.bool("archersOnly"),
+            Rule.bool("aiThrottling.enabled"),
+            Rule.integer("aiThrottling.distance", AiThrottlingConfiguration.MIN_DISTANCE, AiThrottlingConfiguration.MAX_DISTANCE),
+            Rule.integer("aiThrottling.archersPerTick", AiThrottlingConfiguration.MIN_ARCHERS_PER_TICK, AiThrottlingConfiguration.MAX_ARCHERS_PER_TICK),
+            Rule.bool("loadShedding.enabled"),
+            Rule.decimal("loadShedding.sheddingMspt", LoadSheddingConfiguration.MIN_MSPT, LoadSheddingConfiguration.MAX_MSPT),
+            Rule.decimal("loadShedding.recoveryMspt", LoadSheddingConfiguration.MIN_MSPT, LoadSheddingConfiguration.MAX_MSPT),
+            Rule.decimal("loadShedding.spawnChanceScale", LoadSheddingConfiguration.MIN_SPAWN_CHANCE_SCALE, LoadSheddingConfiguration.MAX_SPAWN_CHANCE_SCALE),
+            Rule.bool("debug"),
+            Rule.bool("hotReload"),
+            Rule.bool("metrics"),
+            Rule.bool("prometheus.enabled"),
+            Rule.string("prometheus.address"),
+            Rule.integer("prometheus.port", PrometheusConfiguration.MIN_PORT, PrometheusConfiguration.MAX_PORT)
+    );
+    // The rules for settings which world and biome sections can override, keyed by path.
+    private static final @NotNull Map<String, Rule> OVERRIDABLE_RULES = new HashMap<>();
+
+    static {
+        for (final Rule rule : RULES) {
+            if (rule.path.startsWith("spawnChances.") || rule.path.startsWith("arrowsOfDecay.duration.") || rule.path.startsWith("arrowsOfDecay.effectLevel.")) {
+                OVERRIDABLE_RULES.put(rule.path, rule);
+            }
+        }
+    }
+
+    private ConfigurationValidator() {
+    }
+
+    /**
+     * Checks a parsed configuration file.
+     *
+     * @param config The parsed configuration.
+     * @return A description of each invalid setting, or an empty list if the configuration is valid.
+     * @since 1.1.0
+     */
+    static @NotNull List<String> validate(final @NotNull ConfigurationSection config) {
+        final @NotNull List<String> problems = new ArrayList<>();
+        for (final Rule rule : RULES) {
+            if (config.isSet(rule.path)) {
+                final @Nullable String problem = rule.check(config.get(rule.path));
+                if (problem != null) {
+                    problems.add(rule.path + " " + problem);
+                }
+            }
+        }
+        final @Nullable ConfigurationSection overrides = config.getConfigurationSection("overrides");
+        if (overrides != null) {
+            final @Nullable ConfigurationSection worlds = overrides.getConfigurationSection("worlds");
+            if (worlds != null) {
+                for (final String world : worlds.getKeys(false)) {
+                    final @Nullable ConfigurationSection worldSection = worlds.getConfigurationSection(world);
+                    if (worldSection == null) {
+                        problems.add(worlds.getCurrentPath() + "." + world + " must be a section.");
+                        continue;
+                    }
+                    validateOverride(worldSection, problems);
+                    validateBiomeOverrides(worldSection.getConfigurationSection("biomes"), problems);
+                }
+            }
+            validateBiomeOverrides(overrides.getConfigurationSection("biomes"), problems);
+        }
+        if (config.isSet("replacementRules")) {
+            if (config.isList("replacementRules")) {
+                ReplacementRules.read(config.getMapList("replacementRules"), problems);
+            } else {
+                problems.add("replacementRules must be a list, but was " + config.get("replacementRules") + ".");
+            }
+        }
+        return problems;
+    }
+
+    /**
+     * Checks a setting in a world or biome override section.
+     *
+     * @param path  The path of the setting, relative to the override section.
+     * @param value The value.
+     * @return A description of the problem, or null if the value is valid.
+     * @since 1.1.0
+     */
+    static @Nullable String checkOverride(final @NotNull String path, final @Nullable Object value) {
+        final @Nullable Rule rule = OVERRIDABLE_RULES.get(path);
+        return rule == null ? "is not a setting which can be overridden." : rule.check(value);
+    }
+
+    /**
+     * Gets the biome named by an override section.
+     *
+     * @param name The section name, such as "crimson_forest".
+     * @return The biome, or null if there is no such biome.
+     * @since 1.1.0
+     */
+    static @Nullable Biome biome(final @NotNull String name) {
+        try {
+            return Biome.valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    // Checks the biome override sections within a section.
+    private static void validateBiomeOverrides(final @Nullable ConfigurationSection biomes, final @NotNull List<String> problems) {
+        if (biomes == null) {
+            return;
+        }
+        for (final String biome : biomes.getKeys(false)) {
+            final @Nullable ConfigurationSection biomeSection = biomes.getConfigurationSection(biome);
+            if (biome(biome) == null) {
+                problems.add(biomes.getCurrentPath() + "." + biome + " is not a biome.");
+            } else if (biomeSection == null) {
+                problems.add(biomes.getCurrentPath() + "." + biome + " must be a section.");
+            } else {
+                validateOverride(biomeSection, problems);
+            }
+        }
+    }
+
+    // Checks the settings in a world or biome override section.
+    private static void validateOverride(final @NotNull ConfigurationSection section, final @NotNull List<String> problems) {
+        for (final Rule rule : OVERRIDABLE_RULES.values()) {
+            if (section.isSet(rule.path)) {
+                final @Nullable String problem = rule.check(section.get(rule.path));
+                if (problem != null) {
+                    problems.add(section.getCurrentPath() + "." + rule.path + " " + problem);
+                }
+            }
+        }
+    }
+
+    // The kinds of value a setting can hold.
+    private enum Kind {
+        BOOLEAN,
+        INTEGER,
+        DECIMAL,
+        STRING
+    }
+
+    // The type and bounds of a single setting.
+    private record Rule(@NotNull String path, @NotNull Kind kind, double min, double max) {
+        // Creates a rule for a boolean setting.
+        private static @NotNull Rule bool(final @NotNull String path) {
+            return new Rule(path, Kind.BOOLEAN, 0D, 0D);
+        }
+
+        // Creates a rule for a whole number setting.
+        private static @NotNull Rule integer(final @NotNull String path, final int min, final int max) {
+            return new Rule(path, Kind.INTEGER, min, max);
+        }
+
+        // Creates a rule for a decimal setting.
+        private static @NotNull Rule decimal(final @NotNull String path, final double min, final double max) {
+            return new Rule(path, Kind.DECIMAL, min, max);
+        }
+
+        // Creates a rule for a text setting.
+        private static @NotNull Rule string(final @NotNull String path) {
+            return new Rule(path, Kind.STRING, 0D, 0D);
+        }
+
+        // Checks a value, returning a description of the problem or null if it is valid.
+        private @Nullable String check(final @Nullable Object value) {
+            switch (this.kind) {
+                case BOOLEAN:
+                    return value instanceof Boolean ? null : "must be true or false, but was " + value + ".";
+                case INTEGER:
+                    if (!(value instanceof Integer)) {
+                        return "must be a whole number, but was " + value + ".";
+                    }
+                    return this.inBounds((Integer) value) ? null : "must be a whole number from " + (long) this.min + " to " + (long) this.max + ", but was " + value + ".";
+                case DECIMAL:
+                    if (!(value instanceof Number)) {
+                        return "must be a number, but was " + value + ".";
+                    }
+                    return this.inBounds(((Number) value).doubleValue()) ? null : "must be a number from " + this.min + " to " + this.max + ", but was " + value + ".";
+                default:
+                    return value instanceof String ? null : "must be text, but was " + value + ".";
+            }
+        }
+
+        // Checks whether a value is within the bounds of the setting.
+        private boolean inBounds(final double value) {
+            return value >= this.min && value <= this.max;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package dev.satyrn.archersofdecay.configuration;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * Reloads the configuration when the configuration file changes on disk.
+ * <br>
+ * A background thread waits for changes to the file, then reads, parses and validates it without touching the main
+ * thread. Valid changes are handed to the main thread in a single task, which swaps in the parsed configuration. Changes
+ * which fail to parse or break the bounds of a setting are rejected and logged along with what would have changed.
+ * Writes made by the plugin itself are recognized and ignored.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+public final class ConfigurationWatcher {
+    // The number of milliseconds to wait for further changes before reading the file, so editors can finish writing.
+    private static final long SETTLE_TIME = 250L;
+
+    // The plugin.
+    private final @NotNull Plugin plugin;
+    // The configuration.
+    private final @NotNull Configuration configuration;
+    // The configuration file writer, used to recognize the plugin's own writes.
+    private final @NotNull ConfigurationWriter writer;
+    // Swaps in a parsed configuration. Called on the main thread.
+    private final @NotNull Consumer<YamlConfiguration> apply;
+    // The configuration file.
+    private final @NotNull Path file;
+    // The default configuration bundled with the plugin.
+    private final @NotNull YamlConfiguration defaults;
+    // The settings currently in use, used to describe changes.
+    private volatile @NotNull Map<String, Object> current = Collections.emptyMap();
+    // The file watch, or null while the watcher is stopped.
+    private @Nullable WatchService watchService;
+
+    /**
+     * Initializes a new configuration watcher.
+     *
+     * @param plugin        The plugin.
+     * @param configuration The configuration.
+     * @param writer        The configuration file writer.
+     * @param file          The configuration file.
+     * @param apply         Swaps in a parsed configuration. Called on the main thread.
+     * @since 1.1.0
+     */
+    public ConfigurationWatcher(final @NotNull Plugin plugin, final @NotNull Configuration configuration, final @NotNull ConfigurationWriter writer, final @NotNull Path file, final @NotNull Consumer<YamlConfiguration> apply) {
+        this.plugin = plugin;
+        this.configuration = configuration;
+        this.writer = writer;
+        this.file = file;
+        this.apply = apply;
+        this.defaults = new YamlConfiguration();
+        final @Nullable InputStream defaultsStream = plugin.getResource(file.getFileName().toString());
+        if (defaultsStream != null) {
+            try (final InputStreamReader reader = new InputStreamReader(defaultsStream, StandardCharsets.UTF_8)) {
+                this.defaults.load(reader);
+            } catch (IOException | InvalidConfigurationException ex) {
+                plugin.getLogger().log(Level.WARNING, "[Config] Could not read the default configuration.", ex);
+            }
+        }
+    }
+
+    /**
+     * Starts watching the configuration file if hot reloading is enabled, or stops otherwise. Must be called from the
+     * main thread whenever the configuration changes.
+     *
+     * @since 1.1.0
+     */
+    public void update() {
+        this.current = flatten(this.plugin.getConfig());
+        if (!this.configuration.hotReload.value()) {
+            this.stop();
+            return;
+        }
+        if (this.watchService != null) {
+            return;
+        }
+        try {
+            final @NotNull WatchService service = this.file.getFileSystem().newWatchService();
+            this.file.getParent().register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            final @NotNull Thread thread = new Thread(() -> this.watch(service), this.plugin.getName() + " Configuration Watcher");
+            thread.setDaemon(true);
+            thread.start();
+            this.watchService = service;
+            this.plugin.getLogger().log(Level.INFO, "[Config] Watching {0} for changes.", this.file.getFileName());
+        } catch (IOException ex) {
+            this.plugin.getLogger().log(Level.WARNING, "[Config] Could not watch " + this.file.getFileName() + " for changes; hot reloading is disabled.", ex);
+        }
+    }
+
+    /**
+     * Stops watching the configuration file.
+     *
+     * @since 1.1.0
+     */
+    public void stop() {
+        if (this.watchService != null) {
+            try {
+                this.watchService.close();
+            } catch (IOException ex) {
+                this.plugin.getLogger().log(Level.FINE, "[Config] Could not close the file watch.", ex);
+            }
+            this.watchService = null;
+        }
+    }
+
+    // Waits for changes to the configuration file until the watch is closed. Runs on the watcher thread.
+    private void watch(final @NotNull WatchService service) {
+        try {
+            while (true) {
+                if (!this.isFileChanged(service.take())) {
+                    continue;
+                }
+                // Collapse the burst of events an editor makes when saving into a single reload.
+                Thread.sleep(SETTLE_TIME);
+                @Nullable WatchKey key;
+                while ((key = service.poll()) != null) {
+                    this.isFileChanged(key);
+                }
+                this.check();
+            }
+        } catch (ClosedWatchServiceException ex) {
+            // The watcher was stopped.
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Checks whether a watch key reports a change to the configuration file, and rearms it.
+    private boolean isFileChanged(final @NotNull WatchKey key) {
+        boolean changed = false;
+        for (final WatchEvent<?> event : key.pollEvents()) {
+            if (this.file.getFileName().equals(event.context())) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+
+    // Reads, parses and validates the configuration file, then applies or rejects it. Runs on the watcher thread.
+    private void check() {
+        final @NotNull String content;
+        try {
+            content = Files.readString(this.file, StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            this.plugin.getLogger().log(Level.WARNING, "[Config] Could not read " + this.file.getFileName() + ".", ex);
+            return;
+        }
+        if (this.writer.matches(content)) {
+            this.plugin.getLogger().log(Level.FINE, "[Config] Ignored a change to {0} written by the plugin.", this.file.getFileName());
+            return;
+        }
+
+        final @NotNull YamlConfiguration config = new YamlConfiguration();
+        try {
+            config.loadFromString(content);
+        } catch (InvalidConfigurationException ex) {
+            this.plugin.getLogger().log(Level.WARNING, "[Config] Rejected changes to {0}; the file is not valid YAML: {1}", new Object[]{this.file.getFileName(), ex.getMessage()});
+            return;
+        }
+        config.setDefaults(this.defaults);
+
+        final @NotNull Map<String, Object> previous = this.current;
+        final @NotNull Map<String, Object> next = flatten(config);
+        final @NotNull String changes = describeChanges(previous, next);
+        final @NotNull List<String> problems = ConfigurationValidator.validate(config);
+        if (!problems.isEmpty()) {
+            this.plugin.getLogger().log(Level.WARNING, "[Config] Rejected changes to {0}:{1}\nProblems:\n  {2}", new Object[]{this.file.getFileName(), changes, String.join("\n  ", problems)});
+            return;
+        }
+        if (previous.equals(next)) {
+            this.plugin.getLogger().log(Level.FINE, "[Config] {0} changed on disk, but no settings changed.", this.file.getFileName());
+            return;
+        }
+        if (!this.plugin.isEnabled()) {
+            return;
+        }
+        final @NotNull String serialized = config.saveToString();
+        this.plugin.getServer().getScheduler().runTask(this.plugin, () -> {
+            this.writer.loaded(serialized);
+            this.apply.accept(config);
+            this.plugin.getLogger().log(Level.INFO, "[Config] Applied changes to {0}:{1}", new Object[]{this.file.getFileName(), changes});
+        });
+    }
+
+    // Lists the settings which differ between two flattened configurations, one per line.
+    private static @NotNull String describeChanges(final @NotNull Map<String, Object> previous, final @NotNull Map<String, Object> next) {
+        final @NotNull StringBuilder changes = new StringBuilder();
+        final @NotNull TreeSet<String> paths = new TreeSet<>(previous.keySet());
+        paths.addAll(next.keySet());
+        for (final String path : paths) {
+            final @Nullable Object before = previous.get(path);
+            final @Nullable Object after = next.get(path);
+            if (!Objects.equals(before, after)) {
+                changes.append("\n  ").append(path).append(": ")
+                        .append(before == null ? "(unset)" : before).append(" -> ")
+                        .append(after == null ? "(unset)" : after);
+            }
+        }
+        return changes.length() == 0 ? " (no changes)" : changes.toString();
+    }
+
+    // Collects the values set in a configuration, keyed by path.
+    private static @NotNull Map<String, Object> flatten(final @NotNull ConfigurationSection config) {
+        final @NotNull Map<String, Object> values = new TreeMap<>();
+        for (final Map.Entry<String, Object> entry : config.getValues(true).entrySet()) {
+            if (!(entry.getValue() instanceof ConfigurationSection)) {
+                values.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,187 @@
+package dev.satyrn.archersofdecay.configuration;
+
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+
+/**
+ * Writes the configuration file from a background thread.
+ * <br>
+ * The configuration is serialized by the caller, so the file always reflects the state of the configuration at the time
+ * of the save. Writes go to a temporary file which then replaces the configuration file in a single move, so a crash
+ * mid-write never leaves a truncated file behind. Content which is identical to the last write is skipped, and saves
+ * which pile up while a write is in progress are merged into a single write of the newest content.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+public final class ConfigurationWriter {
+    // The number of seconds to wait for pending writes when closing.
+    private static final long CLOSE_TIMEOUT = 5L;
+
+    // The plugin.
+    private final @NotNull Plugin plugin;
+    // The configuration file.
+    private final @NotNull Path file;
+    // The temporary file written before replacing the configuration file.
+    private final @NotNull Path temporaryFile;
+    // The thread which writes the file.
+    private final @NotNull ExecutorService executor;
+    // The newest content waiting to be written, or null if there is none.
+    private final @NotNull AtomicReference<String> pendingContent = new AtomicReference<>();
+    // The hash of the content most recently written or loaded, or null if it is not known.
+    private volatile byte @Nullable [] lastHash;
+
+    /**
+     * Initializes a new configuration writer.
+     *
+     * @param plugin The plugin.
+     * @param file   The configuration file.
+     * @since 1.1.0
+     */
+    public ConfigurationWriter(final @NotNull Plugin plugin, final @NotNull Path file) {
+        this.plugin = plugin;
+        this.file = file;
+        this.temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            final @NotNull Thread thread = new Thread(runnable, plugin.getName() + " Configuration Writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Records the content of the configuration file as it was loaded, so saving it unchanged does not rewrite it.
+     *
+     * @param content The serialized configuration.
+     * @since 1.1.0
+     */
+    public void loaded(final @NotNull String content) {
+        this.lastHash = hash(content);
+    }
+
+    /**
+     * Checks whether content matches the content most recently written or loaded. Safe to call from any thread.
+     *
+     * @param content The serialized configuration.
+     * @return True if the content is unchanged.
+     * @since 1.1.0
+     */
+    public boolean matches(final @NotNull String content) {
+        return Arrays.equals(hash(content), this.lastHash);
+    }
+
+    /**
+     * Queues serialized configuration content to be written. Must be called from the main thread.
+     *
+     * @param content The serialized configuration.
+     * @since 1.1.0
+     */
+    public void write(final @NotNull String content) {
+        final byte @NotNull [] hash = hash(content);
+        if (Arrays.equals(hash, this.lastHash)) {
+            this.plugin.getLogger().log(Level.FINE, "[Config] Configuration is unchanged; skipped writing {0}.", this.file.getFileName());
+            return;
+        }
+        this.lastHash = hash;
+        if (this.pendingContent.getAndSet(content) == null) {
+            this.executor.execute(this::writePending);
+        }
+    }
+
+    /**
+     * Waits for any pending write to finish, so the configuration file can be read back.
+     *
+     * @since 1.1.0
+     */
+    public void flush() {
+        try {
+            this.executor.submit(() -> {
+            }).get(CLOSE_TIMEOUT, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException ex) {
+            this.plugin.getLogger().log(Level.WARNING, "[Config] Timed out waiting for " + this.file.getFileName() + " to be written.", ex);
+        }
+    }
+
+    /**
+     * Finishes any pending write and stops the writer thread. Content which could not be written in time is written
+     * from the calling thread instead.
+     *
+     * @since 1.1.0
+     */
+    public void close() {
+        this.executor.shutdown();
+        try {
+            if (!this.executor.awaitTermination(CLOSE_TIMEOUT, TimeUnit.SECONDS)) {
+                this.plugin.getLogger().log(Level.WARNING, "[Config] Timed out waiting for the configuration writer; writing {0} directly.", this.file.getFileName());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        this.writePending();
+    }
+
+    // Writes the newest pending content, if any.
+    private void writePending() {
+        final @Nullable String content = this.pendingContent.getAndSet(null);
+        if (content == null) {
+            return;
+        }
+        try {
+            this.replace(content);
+        } catch (IOException ex) {
+            this.plugin.getLogger().log(Level.SEVERE, "[Config] Could not save " + this.file.getFileName() + ".", ex);
+            // Allow the same content to be retried on the next save.
+            this.lastHash = null;
+        }
+    }
+
+    // Writes content to the temporary file and moves it over the configuration file.
+    private synchronized void replace(final @NotNull String content) throws IOException {
+        Files.createDirectories(this.file.getParent());
+        try (final FileChannel channel = FileChannel.open(this.temporaryFile, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            final @NotNull ByteBuffer buffer = StandardCharsets.UTF_8.encode(content);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        try {
+            Files.move(this.temporaryFile, this.file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(this.temporaryFile, this.file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        this.plugin.getLogger().log(Level.FINE, "[Config] Wrote {0}.", this.file.getFileName());
+    }
+
+    // Hashes serialized configuration content.
+    private static byte @NotNull [] hash(final @NotNull String content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available.", ex);
+        }
+    }
+}
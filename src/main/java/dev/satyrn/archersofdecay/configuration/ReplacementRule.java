@@ -0,0 +1,257 @@
+package dev.satyrn.archersofdecay.configuration;
+
+import org.bukkit.Difficulty;
+import org.bukkit.World;
+import org.bukkit.block.Biome;
+import org.bukkit.entity.AbstractSkeleton;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.entity.CreatureSpawnEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A single rule for replacing one kind of mob with another as it spawns.
+ * <br>
+ * A rule matches spawns of its source mob, for one of its spawn reasons, in one of its world environments, and
+ * optionally only in some biomes. The built-in rule replaces skeletons spawning naturally in the nether with wither
+ * skeleton archers at the configured spawn chances, including the world and biome overrides. Rules from the
+ * "replacementRules" list carry their own chances, separated by difficulty.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+public final class ReplacementRule {
+    // The spawn reasons a rule matches if it does not list any.
+    private static final @NotNull List<String> DEFAULT_REASONS = List.of("natural", "default");
+    // The environments a rule matches if it does not list any.
+    private static final @NotNull List<String> DEFAULT_ENVIRONMENTS = List.of("nether");
+
+    /**
+     * The name of the rule, used in log messages.
+     *
+     * @since 1.1.0
+     */
+    public final @NotNull String name;
+
+    /**
+     * The mob which is replaced.
+     *
+     * @since 1.1.0
+     */
+    public final @NotNull EntityType from;
+
+    /**
+     * The mob spawned in its place.
+     *
+     * @since 1.1.0
+     */
+    public final @NotNull EntityType to;
+
+    /**
+     * The entity class of the mob spawned in its place.
+     *
+     * @since 1.1.0
+     */
+    public final @NotNull Class<? extends LivingEntity> entityClass;
+
+    /**
+     * Whether the replacement is a wither skeleton archer, which is tracked and subject to the archer caps.
+     *
+     * @since 1.1.0
+     */
+    public final boolean archer;
+
+    /**
+     * Whether the replacement is a skeleton, and is handed a bow when it replaces a mob before it is constructed.
+     *
+     * @since 1.1.0
+     */
+    public final boolean skeleton;
+
+    // The spawn reasons the rule matches, indexed by ordinal.
+    final boolean[] reasons;
+    // The environments the rule matches, indexed by ordinal.
+    final boolean[] environments;
+    // The biomes the rule matches, indexed by ordinal, or null to match every biome.
+    private final boolean @Nullable [] biomes;
+    // The chance of replacement, indexed by difficulty ordinal, or null to use the configured spawn chances.
+    private final double @Nullable [] chances;
+
+    // Creates a rule.
+    private ReplacementRule(final @NotNull String name, final @NotNull EntityType from, final @NotNull EntityType to, final boolean @NotNull [] reasons, final boolean @NotNull [] environments, final boolean @Nullable [] biomes, final double @Nullable [] chances) {
+        this.name = name;
+        this.from = from;
+        this.to = to;
+        this.entityClass = to.getEntityClass().asSubclass(LivingEntity.class);
+        this.archer = to == EntityType.WITHER_SKELETON;
+        this.skeleton = AbstractSkeleton.class.isAssignableFrom(this.entityClass);
+        this.reasons = reasons;
+        this.environments = environments;
+        this.biomes = biomes;
+        this.chances = chances;
+    }
+
+    /**
+     * Creates the built-in rule, which replaces skeletons spawning naturally in the nether with wither skeleton
+     * archers at the configured spawn chances.
+     *
+     * @return The rule.
+     * @since 1.1.0
+     */
+    static @NotNull ReplacementRule builtIn() {
+        final boolean[] reasons = new boolean[CreatureSpawnEvent.SpawnReason.values().length];
+        reasons[CreatureSpawnEvent.SpawnReason.NATURAL.ordinal()] = true;
+        reasons[CreatureSpawnEvent.SpawnReason.DEFAULT.ordinal()] = true;
+        final boolean[] environments = new boolean[World.Environment.values().length];
+        environments[World.Environment.NETHER.ordinal()] = true;
+        return new ReplacementRule("spawnChances", EntityType.SKELETON, EntityType.WITHER_SKELETON, reasons, environments, null, null);
+    }
+
+    /**
+     * Reads a rule from the "replacementRules" list.
+     *
+     * @param name     The name of the rule, such as "replacementRules[0]".
+     * @param map      The rule as read from the configuration file.
+     * @param problems Collects a description of each invalid setting.
+     * @return The rule, or null if it is invalid.
+     * @since 1.1.0
+     */
+    static @Nullable ReplacementRule read(final @NotNull String name, final @NotNull Map<?, ?> map, final @NotNull List<String> problems) {
+        final int problemCount = problems.size();
+        final @Nullable EntityType from = readEnum(name, "from", map.containsKey("from") ? map.get("from") : "skeleton", EntityType.values(), problems);
+        final @Nullable EntityType to = readEnum(name, "to", map.containsKey("to") ? map.get("to") : "wither_skeleton", EntityType.values(), problems);
+        if (from != null && (!from.isAlive() || from.getEntityClass() == null)) {
+            problems.add(name + ".from must be a mob, but was " + map.get("from") + ".");
+        }
+        if (to != null && (!to.isAlive() || !to.isSpawnable() || to.getEntityClass() == null)) {
+            problems.add(name + ".to must be a mob which can be spawned, but was " + map.get("to") + ".");
+        }
+        if (from != null && from == to) {
+            problems.add(name + ".to must differ from " + name + ".from.");
+        }
+        final boolean[] reasons = readSet(name, "reasons", map.containsKey("reasons") ? map.get("reasons") : DEFAULT_REASONS, CreatureSpawnEvent.SpawnReason.values(), problems);
+        final boolean[] environments = readSet(name, "environments", map.containsKey("environments") ? map.get("environments") : DEFAULT_ENVIRONMENTS, World.Environment.values(), problems);
+        final boolean @Nullable [] biomes = map.containsKey("biomes") ? readSet(name, "biomes", map.get("biomes"), Biome.values(), problems) : null;
+        final double[] chances = readChances(name, map.get("chance"), problems);
+        if (problems.size() > problemCount) {
+            return null;
+        }
+        return new ReplacementRule(name, from, to, reasons, environments, biomes, chances);
+    }
+
+    /**
+     * Checks whether the rule applies in a biome.
+     *
+     * @param biome The biome.
+     * @return True if the rule matches every biome or lists this one.
+     * @since 1.1.0
+     */
+    public boolean appliesIn(final @NotNull Biome biome) {
+        return this.biomes == null || this.biomes[biome.ordinal()];
+    }
+
+    /**
+     * Whether the rule only applies in some biomes, so the biome has to be looked up before it can be chosen.
+     *
+     * @return True if the rule lists biomes.
+     * @since 1.1.0
+     */
+    public boolean hasBiomes() {
+        return this.biomes != null;
+    }
+
+    /**
+     * Whether the rule takes its chances from the configured spawn chances and overrides.
+     *
+     * @return True for the built-in rule.
+     * @since 1.1.0
+     */
+    public boolean usesSpawnChances() {
+        return this.chances == null;
+    }
+
+    /**
+     * Gets the chance of replacement for a rule with its own chances.
+     *
+     * @param difficulty The world difficulty.
+     * @return The chance, between 0 and 1.
+     * @since 1.1.0
+     */
+    public double chance(final @NotNull Difficulty difficulty) {
+        return this.chances == null ? 0D : this.chances[difficulty.ordinal()];
+    }
+
+    // Reads a single enum constant named in lowercase.
+    private static <E extends Enum<E>> @Nullable E readEnum(final @NotNull String name, final @NotNull String key, final @Nullable Object value, final E @NotNull [] constants, final @NotNull List<String> problems) {
+        final @Nullable E constant = value instanceof String ? find(constants, (String) value) : null;
+        if (constant == null) {
+            problems.add(name + "." + key + " is not a known value: " + value + ".");
+        }
+        return constant;
+    }
+
+    // Reads a list of enum constants named in lowercase into flags indexed by ordinal.
+    private static <E extends Enum<E>> boolean @NotNull [] readSet(final @NotNull String name, final @NotNull String key, final @Nullable Object value, final E @NotNull [] constants, final @NotNull List<String> problems) {
+        final boolean[] set = new boolean[constants.length];
+        if (!(value instanceof final List<?> list) || list.isEmpty()) {
+            problems.add(name + "." + key + " must be a list of names, but was " + value + ".");
+            return set;
+        }
+        for (final Object element : list) {
+            final @Nullable E constant = element instanceof String ? find(constants, (String) element) : null;
+            if (constant == null) {
+                problems.add(name + "." + key + " contains an unknown value: " + element + ".");
+            } else {
+                set[constant.ordinal()] = true;
+            }
+        }
+        return set;
+    }
+
+    // Finds an enum constant by its lowercase name.
+    private static <E extends Enum<E>> @Nullable E find(final E @NotNull [] constants, final @NotNull String name) {
+        for (final E constant : constants) {
+            if (constant.name().equalsIgnoreCase(name)) {
+                return constant;
+            }
+        }
+        return null;
+    }
+
+    // Reads the chance of a rule, either a single number used at every difficulty or one per difficulty, where
+    // difficulties left out have no chance.
+    private static double @NotNull [] readChances(final @NotNull String name, final @Nullable Object value, final @NotNull List<String> problems) {
+        final double[] chances = new double[Difficulty.values().length];
+        if (value instanceof final Number number) {
+            Arrays.fill(chances, readChance(name + ".chance", number, problems));
+            return chances;
+        }
+        if (!(value instanceof final Map<?, ?> map)) {
+            problems.add(name + ".chance must be a number from 0.0 to 1.0, or one per difficulty, but was " + value + ".");
+            return chances;
+        }
+        for (final Map.Entry<?, ?> entry : map.entrySet()) {
+            final @Nullable Difficulty difficulty = entry.getKey() instanceof String ? find(Difficulty.values(), (String) entry.getKey()) : null;
+            if (difficulty == null) {
+                problems.add(name + ".chance." + entry.getKey() + " is not a difficulty.");
+            } else {
+                chances[difficulty.ordinal()] = readChance(name + ".chance." + entry.getKey(), entry.getValue(), problems);
+            }
+        }
+        return chances;
+    }
+
+    // Reads a single chance.
+    private static double readChance(final @NotNull String path, final @Nullable Object value, final @NotNull List<String> problems) {
+        if (value instanceof final Number number && number.doubleValue() >= 0D && number.doubleValue() <= 1D) {
+            return number.doubleValue();
+        }
+        problems.add(path + " must be a number from 0.0 to 1.0, but was " + value + ".");
+        return 0D;
+    }
+}
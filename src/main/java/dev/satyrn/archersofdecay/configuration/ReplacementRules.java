@@ -0,0 +1,186 @@
+package dev.satyrn.archersofdecay.configuration;
+
+import org.bukkit.Difficulty;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Biome;
+import org.bukkit.entity.EntityType;
+import org.bukkit.event.entity.CreatureSpawnEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The replacement rules, compiled into a dispatch table.
+ * <br>
+ * The table has one slot for every combination of source mob and spawn reason, holding the matching rules for each
+ * world environment in the order they were configured, with the built-in rule last. Slots without any rules are null,
+ * so a spawn which no rule matches is turned away after a single array read, however many rules are configured.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+public final class ReplacementRules {
+    // The number of spawn reasons, which is the stride between source mobs.
+    private static final int REASONS = CreatureSpawnEvent.SpawnReason.values().length;
+    // The number of world environments.
+    private static final int ENVIRONMENTS = World.Environment.values().length;
+
+    // Every rule, in order of precedence.
+    private final @NotNull List<ReplacementRule> rules;
+    // The matching rules of each source mob and spawn reason, then indexed by environment, or null if none match.
+    private final @Nullable ReplacementRule[][][] table;
+
+    /**
+     * Compiles the replacement rules.
+     *
+     * @param rules Every rule, in order of precedence.
+     * @since 1.1.0
+     */
+    ReplacementRules(final @NotNull List<ReplacementRule> rules) {
+        this.rules = List.copyOf(rules);
+        this.table = new ReplacementRule[EntityType.values().length * REASONS][][];
+        final @NotNull List<ReplacementRule> matching = new ArrayList<>();
+        final @NotNull Set<Integer> filled = new HashSet<>();
+        for (final ReplacementRule rule : this.rules) {
+            for (int reason = 0; reason < REASONS; reason++) {
+                final int index = rule.from.ordinal() * REASONS + reason;
+                if (!rule.reasons[reason] || !filled.add(index)) {
+                    continue;
+                }
+                // Fill the slot from every rule at once, so the rules keep their order.
+                final @Nullable ReplacementRule[][] byEnvironment = new ReplacementRule[ENVIRONMENTS][];
+                boolean any = false;
+                for (int environment = 0; environment < ENVIRONMENTS; environment++) {
+                    matching.clear();
+                    for (final ReplacementRule candidate : this.rules) {
+                        if (candidate.from == rule.from && candidate.reasons[reason] && candidate.environments[environment]) {
+                            matching.add(candidate);
+                        }
+                    }
+                    if (!matching.isEmpty()) {
+                        byEnvironment[environment] = matching.toArray(new ReplacementRule[0]);
+                        any = true;
+                    }
+                }
+                if (any) {
+                    this.table[index] = byEnvironment;
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the "replacementRules" list.
+     *
+     * @param maps     The rules as read from the configuration file.
+     * @param problems Collects a description of each invalid setting.
+     * @return The valid rules, in order.
+     * @since 1.1.0
+     */
+    static @NotNull List<ReplacementRule> read(final @NotNull List<Map<?, ?>> maps, final @NotNull List<String> problems) {
+        final @NotNull List<ReplacementRule> rules = new ArrayList<>();
+        for (int i = 0; i < maps.size(); i++) {
+            final @Nullable ReplacementRule rule = ReplacementRule.read("replacementRules[" + i + "]", maps.get(i), problems);
+            if (rule != null) {
+                rules.add(rule);
+            }
+        }
+        return rules;
+    }
+
+    /**
+     * Checks whether any rule replaces a mob spawning for a reason, in any environment.
+     *
+     * @param type   The type of the spawning mob.
+     * @param reason The spawn reason.
+     * @return True if a rule matches.
+     * @since 1.1.0
+     */
+    public boolean matches(final @NotNull EntityType type, final @NotNull CreatureSpawnEvent.SpawnReason reason) {
+        return this.table[type.ordinal() * REASONS + reason.ordinal()] != null;
+    }
+
+    /**
+     * Chooses the rule which applies to a spawn. The biome is only looked up if a matching rule is limited to some
+     * biomes.
+     *
+     * @param type        The type of the spawning mob.
+     * @param reason      The spawn reason.
+     * @param environment The environment of the world.
+     * @param world       The world.
+     * @param location    The spawn location.
+     * @return The first matching rule, or null if no rule applies.
+     * @since 1.1.0
+     */
+    public @Nullable ReplacementRule select(final @NotNull EntityType type, final @NotNull CreatureSpawnEvent.SpawnReason reason, final @NotNull World.Environment environment, final @NotNull World world, final @NotNull Location location) {
+        final @Nullable ReplacementRule[][] byEnvironment = this.table[type.ordinal() * REASONS + reason.ordinal()];
+        final @Nullable ReplacementRule[] candidates = byEnvironment == null ? null : byEnvironment[environment.ordinal()];
+        if (candidates == null) {
+            return null;
+        }
+        @Nullable Biome biome = null;
+        for (final ReplacementRule rule : candidates) {
+            if (rule.hasBiomes()) {
+                if (biome == null) {
+                    biome = world.getBiome(location.getBlockX(), location.getBlockY(), location.getBlockZ());
+                }
+                if (!rule.appliesIn(biome)) {
+                    continue;
+                }
+            }
+            return rule;
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether any rule can replace a spawn in a world.
+     *
+     * @param environment The environment of the world.
+     * @param difficulty  The world difficulty.
+     * @param spawnChance Whether the configured spawn chances are above zero anywhere in the world.
+     * @return True if a rule applies in the environment with a chance above zero.
+     * @since 1.1.0
+     */
+    public boolean anyChance(final @NotNull World.Environment environment, final @NotNull Difficulty difficulty, final boolean spawnChance) {
+        for (final ReplacementRule rule : this.rules) {
+            if (rule.environments[environment.ordinal()] && (rule.usesSpawnChances() ? spawnChance : rule.chance(difficulty) > 0D)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether any rule with its own chances can replace a spawn at any difficulty.
+     *
+     * @return True if a configured rule has a chance above zero.
+     * @since 1.1.0
+     */
+    public boolean anyRuleChance() {
+        for (final ReplacementRule rule : this.rules) {
+            for (final Difficulty difficulty : Difficulty.values()) {
+                if (!rule.usesSpawnChances() && rule.chance(difficulty) > 0D) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the number of rules, including the built-in rule.
+     *
+     * @return The number of rules.
+     * @since 1.1.0
+     */
+    public int size() {
+        return this.rules.size();
+    }
+}
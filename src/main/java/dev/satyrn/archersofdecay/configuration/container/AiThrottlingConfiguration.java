@@ -0,0 +1,151 @@
+package dev.satyrn.archersofdecay.configuration.container;
+
+import dev.satyrn.papermc.api.configuration.v1.BooleanNode;
+import dev.satyrn.papermc.api.configuration.v1.ConfigurationNode;
+import dev.satyrn.papermc.api.configuration.v1.IntegerNode;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * AI throttling configuration settings.
+ * Value node is whether archers far away from every player stop running their AI.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+public final class AiThrottlingConfiguration extends BooleanNode {
+    /**
+     * The shortest valid throttling distance, in blocks.
+     *
+     * @since 1.1.0
+     */
+    public static final int MIN_DISTANCE = 16;
+
+    /**
+     * The longest valid throttling distance, in blocks.
+     *
+     * @since 1.1.0
+     */
+    public static final int MAX_DISTANCE = 512;
+
+    /**
+     * The smallest valid number of archers checked per tick.
+     *
+     * @since 1.1.0
+     */
+    public static final int MIN_ARCHERS_PER_TICK = 1;
+
+    /**
+     * The largest valid number of archers checked per tick.
+     *
+     * @since 1.1.0
+     */
+    public static final int MAX_ARCHERS_PER_TICK = 10000;
+
+    /**
+     * The distance from the nearest player beyond which an archer's AI is turned off.
+     *
+     * @since 1.1.0
+     */
+    public final @NotNull IntegerNode distance = new IntegerNode(this, "distance", MIN_DISTANCE, MAX_DISTANCE) {
+        @Override
+        public @NotNull Integer defaultValue() {
+            return 64;
+        }
+
+        /**
+         * Writes the value of the node to the config file.
+         *
+         * @since 1.1.0
+         */
+        @Override
+        public void save() {
+            super.save();
+
+            if (this.getComments().isEmpty()) {
+                this.setComments(
+                        "The distance in blocks from the nearest player beyond which an archer's AI is turned off.",
+                        "Defaults to 64.",
+                        "Valid values are whole numbers from 16 to 512."
+                );
+            }
+        }
+    };
+
+    /**
+     * The number of archers checked per tick.
+     *
+     * @since 1.1.0
+     */
+    public final @NotNull IntegerNode archersPerTick = new IntegerNode(this, "archersPerTick", MIN_ARCHERS_PER_TICK, MAX_ARCHERS_PER_TICK) {
+        @Override
+        public @NotNull Integer defaultValue() {
+            return 50;
+        }
+
+        /**
+         * Writes the value of the node to the config file.
+         *
+         * @since 1.1.0
+         */
+        @Override
+        public void save() {
+            super.save();
+
+            if (this.getComments().isEmpty()) {
+                this.setComments(
+                        "The number of archers checked per tick. Larger populations are checked over several ticks.",
+                        "Defaults to 50.",
+                        "Valid values are whole numbers from 1 to 10000."
+                );
+            }
+        }
+    };
+
+    /**
+     * Creates a new AI throttling configuration section.
+     *
+     * @param parent The parent container.
+     * @param name   The name of the container.
+     * @since 1.1.0
+     */
+    public AiThrottlingConfiguration(final @NotNull ConfigurationNode<?> parent, final @NotNull String name) {
+        super(parent, name);
+    }
+
+    /**
+     * Gets the default value of the node.
+     *
+     * @return The value.
+     * @since 1.1.0
+     */
+    @Override
+    public @NotNull Boolean defaultValue() {
+        return false;
+    }
+
+    /**
+     * Writes the value of the node to the config file.
+     *
+     * @since 1.1.0
+     */
+    @Override
+    public void save() {
+        super.save();
+
+        // Restore value node comments if they were lost.
+        if (this.getComments().isEmpty()) {
+            this.setComments(
+                    "Whether archers far away from every player stop running their AI until a player approaches.",
+                    "Defaults to false."
+            );
+        }
+
+        // Restore base node comments if they were lost.
+        if (this.getComments(true).isEmpty()) {
+            this.setComments(true,
+                    "Turns off the AI of wither skeleton archers which are far away from players.",
+                    "Set \"" + this.getValuePath() + "\" to true to enable this functionality."
+            );
+        }
+    }
+}
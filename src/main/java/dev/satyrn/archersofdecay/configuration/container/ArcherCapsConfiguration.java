@@ -0,0 +1,138 @@
+package dev.satyrn.archersofdecay.configuration.container;
+
+import dev.satyrn.papermc.api.configuration.v1.BooleanNode;
+import dev.satyrn.papermc.api.configuration.v1.ConfigurationNode;
+import dev.satyrn.papermc.api.configuration.v1.IntegerNode;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Limits on the number of converted archers which may exist at once.
+ * Value node is whether the limits are enforced.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+public final class ArcherCapsConfiguration extends BooleanNode {
+    /**
+     * The smallest valid archer cap.
+     *
+     * @since 1.1.0
+     */
+    public static final int MIN_CAP = 0;
+
+    /**
+     * The largest valid archer cap.
+     *
+     * @since 1.1.0
+     */
+    public static final int MAX_CAP = Integer.MAX_VALUE;
+
+    /**
+     * The maximum number of archers per chunk.
+     *
+     * @since 1.1.0
+     */
+    public final @NotNull IntegerNode perChunk = new IntegerNode(this, "perChunk", MIN_CAP, MAX_CAP) {
+        @Override
+        public @NotNull Integer defaultValue() {
+            return 4;
+        }
+
+        /**
+         * Writes the value of the node to the config file.
+         *
+         * @since 1.1.0
+         */
+        @Override
+        public void save() {
+            super.save();
+
+            if (this.getComments().isEmpty()) {
+                this.setComments(
+                        "The maximum number of archers in a single chunk.",
+                        "Defaults to 4.",
+                        "Valid values are whole numbers 0 or greater. Setting to 0 removes the limit."
+                );
+            }
+        }
+    };
+
+    /**
+     * The maximum number of archers per world.
+     *
+     * @since 1.1.0
+     */
+    public final @NotNull IntegerNode perWorld = new IntegerNode(this, "perWorld", MIN_CAP, MAX_CAP) {
+        @Override
+        public @NotNull Integer defaultValue() {
+            return 200;
+        }
+
+        /**
+         * Writes the value of the node to the config file.
+         *
+         * @since 1.1.0
+         */
+        @Override
+        public void save() {
+            super.save();
+
+            if (this.getComments().isEmpty()) {
+                this.setComments(
+                        "The maximum number of loaded archers in a single world.",
+                        "Defaults to 200.",
+                        "Valid values are whole numbers 0 or greater. Setting to 0 removes the limit."
+                );
+            }
+        }
+    };
+
+    /**
+     * Creates a new archer caps configuration section.
+     *
+     * @param parent The parent container.
+     * @param name   The name of the container.
+     * @since 1.1.0
+     */
+    public ArcherCapsConfiguration(final @NotNull ConfigurationNode<?> parent, final @NotNull String name) {
+        super(parent, name);
+    }
+
+    /**
+     * Gets the default value of the node.
+     *
+     * @return The value.
+     * @since 1.1.0
+     */
+    @Override
+    public @NotNull Boolean defaultValue() {
+        return false;
+    }
+
+    /**
+     * Writes the value of the node to the config file.
+     *
+     * @since 1.1.0
+     */
+    @Override
+    public void save() {
+        super.save();
+
+        // Restore value node comments if they were lost.
+        if (this.getComments().isEmpty()) {
+            this.setComments(
+                    "Whether to limit how many archers can exist at once.",
+                    "When a limit is reached, skeletons are no longer replaced until archers die or are unloaded.",
+                    "Defaults to false."
+            );
+        }
+
+        // Restore base node comments if they were lost.
+        if (this.getComments(true).isEmpty()) {
+            this.setComments(true,
+                    "Limits on the number of wither skeleton archers converted by the plugin.",
+                    "Set \"" + this.getValuePath() + "\" to true to enable this functionality."
+            );
+        }
+    }
+}
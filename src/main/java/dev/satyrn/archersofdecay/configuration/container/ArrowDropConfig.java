@@ -34,6 +34,37 @@ public class ArrowDropConfig extends BooleanNode {
         }
     };
 
+    /**
+     * Whether arrow drops in the same block during the same tick are merged into a single item.
+     *
+     * @since 1.1.0
+     */
+    public final @NotNull BooleanNode coalesce = new BooleanNode(this, "coalesce") {
+        @Override
+        public @NotNull Boolean defaultValue() {
+            return false;
+        }
+
+        /**
+         * Writes the value of the node to the config file.
+         *
+         * @since 1.1.0
+         */
+        @Override
+        public void save() {
+            super.save();
+
+            // Restore the node comments if they were lost.
+            if (this.getComments().isEmpty()) {
+                this.setComments(
+                        "Whether arrows dropped in the same block during the same tick should be merged into one item.",
+                        "Useful for wither skeleton farms, where many archers die in the same spot.",
+                        "Defaults to false."
+                );
+            }
+        }
+    };
+
     /**
      * Creates a new configuration node with a boolean value.
      *
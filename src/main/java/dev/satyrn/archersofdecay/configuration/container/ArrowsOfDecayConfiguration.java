@@ -29,6 +29,36 @@ public final class ArrowsOfDecayConfiguration extends BooleanNode {
      */
     public final @NotNull ArrowsOfDecayEffectLevelConfiguration effectLevel = new ArrowsOfDecayEffectLevelConfiguration(this, "effectLevel");
 
+    /**
+     * Whether arrows carry a compact marker and apply the wither effect on hit, rather than being tipped arrows.
+     *
+     * @since 1.1.0
+     */
+    public final @NotNull BooleanNode lightweight = new BooleanNode(this, "lightweight") {
+        @Override
+        public @NotNull Boolean defaultValue() {
+            return false;
+        }
+
+        /**
+         * Writes the value of the node to the config file.
+         *
+         * @since 1.1.0
+         */
+        @Override
+        public void save() {
+            super.save();
+
+            if (this.getComments().isEmpty()) {
+                this.setComments(
+                        "If true, fired arrows are plain arrows which apply the wither effect when they damage an entity.",
+                        "This avoids storing potion data on every arrow, but arrows will not show black particles.",
+                        "Defaults to false."
+                );
+            }
+        }
+    };
+
     /**
      * Creates a new Arrows of Decay configuration section.
      *
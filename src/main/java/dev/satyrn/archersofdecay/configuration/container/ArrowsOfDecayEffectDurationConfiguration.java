@@ -14,8 +14,22 @@ import java.util.Objects;
  * @since 0.0.0-SNAPSHOT
  */
 public final class ArrowsOfDecayEffectDurationConfiguration extends DifficultyDependentNode<Integer> {
+    /**
+     * The shortest valid effect duration, in ticks.
+     *
+     * @since 1.1.0
+     */
+    public static final int MIN_DURATION = 0;
+
+    /**
+     * The longest valid effect duration, in ticks.
+     *
+     * @since 1.1.0
+     */
+    public static final int MAX_DURATION = Integer.MAX_VALUE;
+
     // Easy difficulty effect duration.
-    private final @NotNull IntegerNode easy = new IntegerNode(this, "easy", 0, Integer.MAX_VALUE) {
+    private final @NotNull IntegerNode easy = new IntegerNode(this, "easy", MIN_DURATION, MAX_DURATION) {
         @Override
         public @NotNull Integer defaultValue() {
             return 0;
@@ -40,7 +54,7 @@ public final class ArrowsOfDecayEffectDurationConfiguration extends DifficultyDe
         }
     };
     // Normal difficulty effect duration.
-    private final @NotNull IntegerNode normal = new IntegerNode(this, "normal", 0, Integer.MAX_VALUE) {
+    private final @NotNull IntegerNode normal = new IntegerNode(this, "normal", MIN_DURATION, MAX_DURATION) {
         @Override
         public @NotNull Integer defaultValue() {
             return 200;
@@ -65,7 +79,7 @@ public final class ArrowsOfDecayEffectDurationConfiguration extends DifficultyDe
         }
     };
     // Hard difficulty effect duration.
-    private final @NotNull IntegerNode hard = new IntegerNode(this, "hard", 0, Integer.MAX_VALUE) {
+    private final @NotNull IntegerNode hard = new IntegerNode(this, "hard", MIN_DURATION, MAX_DURATION) {
         @Override
         public @NotNull Integer defaultValue() {
             return 100;
@@ -13,8 +13,22 @@ import org.jetbrains.annotations.NotNull;
  * @since 0.0.0-SNAPSHOT
  */
 public final class ArrowsOfDecayEffectLevelConfiguration extends DifficultyDependentNode<Integer> {
+    /**
+     * The lowest valid effect level, which turns the effect off.
+     *
+     * @since 1.1.0
+     */
+    public static final int MIN_EFFECT_LEVEL = -1;
+
+    /**
+     * The highest valid effect level.
+     *
+     * @since 1.1.0
+     */
+    public static final int MAX_EFFECT_LEVEL = 255;
+
     // Easy difficulty effect level.
-    private final @NotNull IntegerNode easy = new IntegerNode(this, "easy", -1, 255) {
+    private final @NotNull IntegerNode easy = new IntegerNode(this, "easy", MIN_EFFECT_LEVEL, MAX_EFFECT_LEVEL) {
         @Override
         public @NotNull Integer defaultValue() {
             return -1;
@@ -39,7 +53,7 @@ public final class ArrowsOfDecayEffectLevelConfiguration extends DifficultyDepen
         }
     };
     // Normal difficulty effect level.
-    private final @NotNull IntegerNode normal = new IntegerNode(this, "normal", -1, 255) {
+    private final @NotNull IntegerNode normal = new IntegerNode(this, "normal", MIN_EFFECT_LEVEL, MAX_EFFECT_LEVEL) {
         @Override
         public @NotNull Integer defaultValue() {
             return 0;
@@ -64,7 +78,7 @@ public final class ArrowsOfDecayEffectLevelConfiguration extends DifficultyDepen
         }
     };
     // Hard difficulty effect level.
-    private final @NotNull IntegerNode hard = new IntegerNode(this, "hard", -1, 255) {
+    private final @NotNull IntegerNode hard = new IntegerNode(this, "hard", MIN_EFFECT_LEVEL, MAX_EFFECT_LEVEL) {
         @Override
         public @NotNull Integer defaultValue() {
             return 1;
@@ -0,0 +1,155 @@
+package dev.satyrn.archersofdecay.configuration.container;
+
+import dev.satyrn.papermc.api.configuration.v1.BooleanNode;
+import dev.satyrn.papermc.api.configuration.v1.ConfigurationNode;
+import dev.satyrn.papermc.api.configuration.v1.DoubleNode;
+import dev.satyrn.papermc.api.configuration.v1.IntegerNode;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Deferred spawning configuration settings.
+ * Value node is whether replacement wither skeletons are queued and spawned over the following ticks.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+public final class DeferredSpawningConfiguration extends BooleanNode {
+    /**
+     * The smallest valid queue size.
+     *
+     * @since 1.1.0
+     */
+    public static final int MIN_QUEUE_SIZE = 1;
+
+    /**
+     * The largest valid queue size.
+     *
+     * @since 1.1.0
+     */
+    public static final int MAX_QUEUE_SIZE = 100000;
+
+    /**
+     * The smallest valid tick budget, in milliseconds.
+     *
+     * @since 1.1.0
+     */
+    public static final double MIN_TICK_BUDGET = 0.01D;
+
+    /**
+     * The largest valid tick budget, in milliseconds.
+     *
+     * @since 1.1.0
+     */
+    public static final double MAX_TICK_BUDGET = 50D;
+
+    /**
+     * The maximum number of queued spawns.
+     *
+     * @since 1.1.0
+     */
+    public final @NotNull IntegerNode queueSize = new IntegerNode(this, "queueSize", MIN_QUEUE_SIZE, MAX_QUEUE_SIZE) {
+        @Override
+        public @NotNull Integer defaultValue() {
+            return 512;
+        }
+
+        /**
+         * Writes the value of the node to the config file.
+         *
+         * @since 1.1.0
+         */
+        @Override
+        public void save() {
+            super.save();
+
+            if (this.getComments().isEmpty()) {
+                this.setComments(
+                        "The maximum number of wither skeletons waiting to be spawned.",
+                        "While the queue is full, skeletons are left to spawn normally.",
+                        "Defaults to 512.",
+                        "Valid values are whole numbers from 1 to 100000."
+                );
+            }
+        }
+    };
+
+    /**
+     * The time per tick spent spawning queued wither skeletons.
+     *
+     * @since 1.1.0
+     */
+    public final @NotNull DoubleNode tickBudget = new DoubleNode(this, "tickBudget", MIN_TICK_BUDGET, MAX_TICK_BUDGET) {
+        @Override
+        public @NotNull Double defaultValue() {
+            return 2D;
+        }
+
+        /**
+         * Writes the value of the node to the config file.
+         *
+         * @since 1.1.0
+         */
+        @Override
+        public void save() {
+            super.save();
+
+            if (this.getComments().isEmpty()) {
+                this.setComments(
+                        "The time in milliseconds spent spawning queued wither skeletons each tick.",
+                        "At least one wither skeleton is spawned per tick, even if it takes longer.",
+                        "Defaults to 2.",
+                        "Valid values are any value between 0.01 and 50."
+                );
+            }
+        }
+    };
+
+    /**
+     * Creates a new deferred spawning configuration section.
+     *
+     * @param parent The parent container.
+     * @param name   The name of the container.
+     * @since 1.1.0
+     */
+    public DeferredSpawningConfiguration(final @NotNull ConfigurationNode<?> parent, final @NotNull String name) {
+        super(parent, name);
+    }
+
+    /**
+     * Gets the default value of the node.
+     *
+     * @return The value.
+     * @since 1.1.0
+     */
+    @Override
+    public @NotNull Boolean defaultValue() {
+        return false;
+    }
+
+    /**
+     * Writes the value of the node to the config file.
+     *
+     * @since 1.1.0
+     */
+    @Override
+    public void save() {
+        super.save();
+
+        // Restore value node comments if they were lost.
+        if (this.getComments().isEmpty()) {
+            this.setComments(
+                    "Whether replacement wither skeletons are queued and spawned over the following ticks.",
+                    "Spreads bursts of spawns, such as while nether chunks generate, across several ticks.",
+                    "Defaults to false."
+            );
+        }
+
+        // Restore base node comments if they were lost.
+        if (this.getComments(true).isEmpty()) {
+            this.setComments(true,
+                    "Spawns replacement wither skeletons within a time budget per tick instead of during the spawn event.",
+                    "Set \"" + this.getValuePath() + "\" to true to enable this functionality."
+            );
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package dev.satyrn.archersofdecay.configuration.container;
+
+import dev.satyrn.papermc.api.configuration.v1.BooleanNode;
+import dev.satyrn.papermc.api.configuration.v1.ConfigurationNode;
+import dev.satyrn.papermc.api.configuration.v1.DoubleNode;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Load shedding configuration settings.
+ * Value node is whether the plugin scales back its work while the server is falling behind.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+public final class LoadSheddingConfiguration extends BooleanNode {
+    /**
+     * The smallest valid tick time threshold, in milliseconds.
+     *
+     * @since 1.1.0
+     */
+    public static final double MIN_MSPT = 0D;
+
+    /**
+     * The largest valid tick time threshold, in milliseconds.
+     *
+     * @since 1.1.0
+     */
+    public static final double MAX_MSPT = 1000D;
+
+    /**
+     * The smallest valid spawn chance scale.
+     *
+     * @since 1.1.0
+     */
+    public static final double MIN_SPAWN_CHANCE_SCALE = 0D;
+
+    /**
+     * The largest valid spawn chance scale.
+     *
+     * @since 1.1.0
+     */
+    public static final double MAX_SPAWN_CHANCE_SCALE = 1D;
+
+    /**
+     * The average tick time at which load shedding starts.
+     *
+     * @since 1.1.0
+     */
+    public final @NotNull DoubleNode sheddingMspt = new DoubleNode(this, "sheddingMspt", MIN_MSPT, MAX_MSPT) {
+        @Override
+        public @NotNull Double defaultValue() {
+            return 45D;
+        }
+
+        /**
+         * Writes the value of the node to the config file.
+         *
+         * @since 1.1.0
+         */
+        @Override
+        public void save() {
+            super.save();
+
+            if (this.getComments().isEmpty()) {
+                this.setComments(
+                        "The average tick time in milliseconds at which load shedding starts.",
+                        "Defaults to 45. A server running at 20 TPS has 50 milliseconds per tick.",
+                        "Valid values are any value between 0 and 1000."
+                );
+            }
+        }
+    };
+
+    /**
+     * The average tick time at which load shedding stops.
+     *
+     * @since 1.1.0
+     */
+    public final @NotNull DoubleNode recoveryMspt = new DoubleNode(this, "recoveryMspt", MIN_MSPT, MAX_MSPT) {
+        @Override
+        public @NotNull Double defaultValue() {
+            return 35D;
+        }
+
+        /**
+         * Writes the value of the node to the config file.
+         *
+         * @since 1.1.0
+         */
+        @Override
+        public void save() {
+            super.save();
+
+            if (this.getComments().isEmpty()) {
+                this.setComments(
+                        "The average tick time in milliseconds at which load shedding stops again.",
+                        "Should be lower than sheddingMspt, so the plugin does not switch back and forth.",
+                        "Defaults to 35.",
+                        "Valid values are any value between 0 and 1000."
+                );
+            }
+        }
+    };
+
+    /**
+     * The factor applied to spawn chances while shedding load.
+     *
+     * @since 1.1.0
+     */
+    public final @NotNull DoubleNode spawnChanceScale = new DoubleNode(this, "spawnChanceScale", MIN_SPAWN_CHANCE_SCALE, MAX_SPAWN_CHANCE_SCALE) {
+        @Override
+        public @NotNull Double defaultValue() {
+            return 0.25D;
+        }
+
+        /**
+         * Writes the value of the node to the config file.
+         *
+         * @since 1.1.0
+         */
+        @Override
+        public void save() {
+            super.save();
+
+            if (this.getComments().isEmpty()) {
+                this.setComments(
+                        "The factor applied to spawn chances while shedding load.",
+                        "Defaults to 0.25, a.k.a. a quarter of the normal spawn chance.",
+                        "Valid values are any value between 0 and 1."
+                );
+            }
+        }
+    };
+
+    /**
+     * Creates a new load shedding configuration section.
+     *
+     * @param parent The parent container.
+     * @param name   The name of the container.
+     * @since 1.1.0
+     */
+    public LoadSheddingConfiguration(final @NotNull ConfigurationNode<?> parent, final @NotNull String name) {
+        super(parent, name);
+    }
+
+    /**
+     * Gets the default value of the node.
+     *
+     * @return The value.
+     * @since 1.1.0
+     */
+    @Override
+    public @NotNull Boolean defaultValue() {
+        return false;
+    }
+
+    /**
+     * Writes the value of the node to the config file.
+     *
+     * @since 1.1.0
+     */
+    @Override
+    public void save() {
+        super.save();
+
+        // Restore value node comments if they were lost.
+        if (this.getComments().isEmpty()) {
+            this.setComments(
+                    "Whether to scale back skeleton replacement and skip optional work while the server is falling behind.",
+                    "While shedding load, armor is not transferred and arrows of decay are not recolored.",
+                    "Defaults to false."
+            );
+        }
+
+        // Restore base node comments if they were lost.
+        if (this.getComments(true).isEmpty()) {
+            this.setComments(true,
+                    "Scales back the plugin's work based on the server's average tick time.",
+                    "Set \"" + this.getValuePath() + "\" to true to enable this functionality."
+            );
+        }
+    }
+}
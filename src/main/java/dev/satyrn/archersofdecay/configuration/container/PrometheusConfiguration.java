@@ -0,0 +1,139 @@
+package dev.satyrn.archersofdecay.configuration.container;
+
+import dev.satyrn.papermc.api.configuration.v1.BooleanNode;
+import dev.satyrn.papermc.api.configuration.v1.ConfigurationNode;
+import dev.satyrn.papermc.api.configuration.v1.IntegerNode;
+import dev.satyrn.papermc.api.configuration.v1.StringNode;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Prometheus exporter configuration settings.
+ * Value node is whether the plugin serves its statistics over HTTP in the Prometheus text format.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+public final class PrometheusConfiguration extends BooleanNode {
+    /**
+     * The lowest valid port.
+     *
+     * @since 1.1.0
+     */
+    public static final int MIN_PORT = 1;
+
+    /**
+     * The highest valid port.
+     *
+     * @since 1.1.0
+     */
+    public static final int MAX_PORT = 65535;
+
+    /**
+     * The address the exporter listens on.
+     *
+     * @since 1.1.0
+     */
+    public final @NotNull StringNode address = new StringNode(this, "address") {
+        @Override
+        public @NotNull String defaultValue() {
+            return "127.0.0.1";
+        }
+
+        /**
+         * Writes the value of the node to the config file.
+         *
+         * @since 1.1.0
+         */
+        @Override
+        public void save() {
+            super.save();
+
+            if (this.getComments().isEmpty()) {
+                this.setComments(
+                        "The address the exporter listens on.",
+                        "Defaults to 127.0.0.1, so only the local machine can read the statistics.",
+                        "Use 0.0.0.0 to listen on every interface, but make sure the port is not reachable from the internet."
+                );
+            }
+        }
+    };
+
+    /**
+     * The port the exporter listens on.
+     *
+     * @since 1.1.0
+     */
+    public final @NotNull IntegerNode port = new IntegerNode(this, "port", MIN_PORT, MAX_PORT) {
+        @Override
+        public @NotNull Integer defaultValue() {
+            return 9464;
+        }
+
+        /**
+         * Writes the value of the node to the config file.
+         *
+         * @since 1.1.0
+         */
+        @Override
+        public void save() {
+            super.save();
+
+            if (this.getComments().isEmpty()) {
+                this.setComments(
+                        "The port the exporter listens on. Statistics are served at /metrics.",
+                        "Defaults to 9464.",
+                        "Valid values are whole numbers from 1 to 65535."
+                );
+            }
+        }
+    };
+
+    /**
+     * Creates a new Prometheus exporter configuration section.
+     *
+     * @param parent The parent container.
+     * @param name   The name of the container.
+     * @since 1.1.0
+     */
+    public PrometheusConfiguration(final @NotNull ConfigurationNode<?> parent, final @NotNull String name) {
+        super(parent, name);
+    }
+
+    /**
+     * Gets the default value of the node.
+     *
+     * @return The value.
+     * @since 1.1.0
+     */
+    @Override
+    public @NotNull Boolean defaultValue() {
+        return false;
+    }
+
+    /**
+     * Writes the value of the node to the config file.
+     *
+     * @since 1.1.0
+     */
+    @Override
+    public void save() {
+        super.save();
+
+        // Restore value node comments if they were lost.
+        if (this.getComments().isEmpty()) {
+            this.setComments(
+                    "Whether to serve the plugin's statistics over HTTP in the Prometheus text format.",
+                    "Unlike bStats metrics, nothing is sent anywhere; a Prometheus server has to scrape the endpoint.",
+                    "Defaults to false."
+            );
+        }
+
+        // Restore base node comments if they were lost.
+        if (this.getComments(true).isEmpty()) {
+            this.setComments(true,
+                    "Serves replacement, arrow and drop counters, handler timings and archer populations for Prometheus.",
+                    "Set \"" + this.getValuePath() + "\" to true to enable this functionality."
+            );
+        }
+    }
+}
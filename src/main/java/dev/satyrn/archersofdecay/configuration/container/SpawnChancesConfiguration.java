@@ -12,8 +12,22 @@ import org.jetbrains.annotations.Nullable;
  * @since 0.0.0-SNAPSHOT
  */
 public final class SpawnChancesConfiguration extends DifficultyDependentNode<Double> {
+    /**
+     * The smallest valid spawn chance.
+     *
+     * @since 1.1.0
+     */
+    public static final double MIN_CHANCE = 0D;
+
+    /**
+     * The largest valid spawn chance.
+     *
+     * @since 1.1.0
+     */
+    public static final double MAX_CHANCE = 1D;
+
     // Easy difficulty spawn chances.
-    private final @NotNull DoubleNode easy = new DoubleNode(this, "easy", 0D, 1D) {
+    private final @NotNull DoubleNode easy = new DoubleNode(this, "easy", MIN_CHANCE, MAX_CHANCE) {
         @Override
         public @NotNull Double defaultValue() {
             return 0.1D;
@@ -38,7 +52,7 @@ public final class SpawnChancesConfiguration extends DifficultyDependentNode<Dou
         }
     };
     // Normal difficulty spawn chances.
-    private final @NotNull DoubleNode normal = new DoubleNode(this, "normal", 0D, 1D) {
+    private final @NotNull DoubleNode normal = new DoubleNode(this, "normal", MIN_CHANCE, MAX_CHANCE) {
         @Override
         public @NotNull Double defaultValue() {
             return 0.5D;
@@ -63,7 +77,7 @@ public final class SpawnChancesConfiguration extends DifficultyDependentNode<Dou
         }
     };
     // Hard difficulty spawn chances.
-    private final @NotNull DoubleNode hard = new DoubleNode(this, "hard", 0D, 1D) {
+    private final @NotNull DoubleNode hard = new DoubleNode(this, "hard", MIN_CHANCE, MAX_CHANCE) {
         @Override
         public @NotNull Double defaultValue() {
             return 1D;
@@ -0,0 +1,299 @@
+package dev.satyrn.archersofdecay.entity;
+
+import com.destroystokyo.paper.event.entity.EntityAddToWorldEvent;
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
+import dev.satyrn.archersofdecay.util.IntHashSet;
+import dev.satyrn.archersofdecay.util.IntLongHashMap;
+import dev.satyrn.archersofdecay.util.LongIntHashMap;
+import org.bukkit.Location;
+import org.bukkit.NamespacedKey;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.WitherSkeleton;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.EntitiesLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.IntConsumer;
+import java.util.logging.Level;
+
+/**
+ * Keeps track of the wither skeleton archers converted by the plugin.
+ * <br>
+ * Archers are marked with a persistent data key when they spawn, so they can be recognized again after their chunk is
+ * reloaded. The entity IDs of loaded archers are kept in memory, so checking whether an entity is an archer is a single
+ * set lookup. Entity IDs are added as archers enter a world, whether they spawn, load with their chunk or arrive through
+ * a portal under a new entity ID, and removed as they leave it.
+ * <br>
+ * Each world also keeps a count of archers per chunk, keyed by packed chunk coordinates. An archer is counted in the
+ * chunk where it was spawned or loaded, so population caps can be checked without scanning the world's entities.
+ * <br>
+ * References to the loaded archers are kept in a list for passes over the whole population. Entries are not removed
+ * when an archer leaves the world; instead, the list is compacted once it holds more stale entries than live ones.
+ * Must only be used from the main thread.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+public final class ArcherRegistry implements Listener {
+    // The plugin.
+    private final @NotNull Plugin plugin;
+    // The persistent data key which marks wither skeletons spawned by the plugin.
+    private final @NotNull NamespacedKey archerKey;
+    // The entity IDs of the loaded archers.
+    private final @NotNull IntHashSet archers = new IntHashSet();
+    // The archer population of each world, keyed by world UID.
+    private final @NotNull Map<UUID, WorldPopulation> populations = new HashMap<>();
+    // The loaded archers, including archers which have since been removed from the world.
+    private final @NotNull List<WitherSkeleton> loadedArchers = new ArrayList<>();
+
+    /**
+     * Initializes a new archer registry.
+     *
+     * @param plugin The plugin.
+     * @since 1.1.0
+     */
+    public ArcherRegistry(final @NotNull Plugin plugin) {
+        this.plugin = plugin;
+        this.archerKey = new NamespacedKey(plugin, "archer");
+    }
+
+    /**
+     * Packs chunk coordinates into a single long.
+     *
+     * @param chunkX The chunk X coordinate.
+     * @param chunkZ The chunk Z coordinate.
+     * @return The chunk key.
+     * @since 1.1.0
+     */
+    public static long chunkKey(final int chunkX, final int chunkZ) {
+        return ((long) chunkZ << 32) | (chunkX & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Marks a wither skeleton as an archer. Should be called before the entity is added to the world, so it is tracked
+     * as soon as it is added.
+     *
+     * @param witherSkeleton The wither skeleton.
+     * @since 1.1.0
+     */
+    public void mark(final @NotNull WitherSkeleton witherSkeleton) {
+        witherSkeleton.getPersistentDataContainer().set(this.archerKey, PersistentDataType.BYTE, (byte) 1);
+    }
+
+    /**
+     * Checks whether an entity is an archer converted by the plugin.
+     *
+     * @param entity The entity.
+     * @return True if the entity is a tracked archer.
+     * @since 1.1.0
+     */
+    public boolean isArcher(final @NotNull Entity entity) {
+        return this.archers.contains(entity.getEntityId());
+    }
+
+    /**
+     * Gets the number of loaded archers.
+     *
+     * @return The number of tracked archers.
+     * @since 1.1.0
+     */
+    public int size() {
+        return this.archers.size();
+    }
+
+    /**
+     * Gets the number of loaded archers in a world.
+     *
+     * @param world The world.
+     * @return The number of tracked archers in the world.
+     * @since 1.1.0
+     */
+    public int size(final @NotNull World world) {
+        final @Nullable WorldPopulation population = this.populations.get(world.getUID());
+        return population == null ? 0 : population.chunksByArcher.size();
+    }
+
+    /**
+     * Gets the loaded archers. The list may still contain archers which are no longer valid, so callers should check
+     * {@link WitherSkeleton#isValid()} before using an entry. Must not be modified.
+     *
+     * @return The loaded archers.
+     * @since 1.1.0
+     */
+    public @NotNull List<WitherSkeleton> loadedArchers() {
+        return this.loadedArchers;
+    }
+
+    /**
+     * Checks whether a chunk or its world has reached the archer population cap.
+     *
+     * @param world       The world.
+     * @param chunkX      The chunk X coordinate.
+     * @param chunkZ      The chunk Z coordinate.
+     * @param perChunkCap The maximum number of archers per chunk.
+     * @param perWorldCap The maximum number of archers per world.
+     * @return True if no more archers should be spawned at the location.
+     * @since 1.1.0
+     */
+    public boolean isCapped(final @NotNull World world, final int chunkX, final int chunkZ, final int perChunkCap, final int perWorldCap) {
+        final @Nullable WorldPopulation population = this.populations.get(world.getUID());
+        if (population == null) {
+            return perChunkCap <= 0 || perWorldCap <= 0;
+        }
+        return population.chunksByArcher.size() >= perWorldCap
+                || population.archersByChunk.get(chunkKey(chunkX, chunkZ)) >= perChunkCap;
+    }
+
+    /**
+     * Rebuilds the registry from the entities in every loaded world.
+     *
+     * @since 1.1.0
+     */
+    public void rebuild() {
+        this.clear();
+        for (final World world : this.plugin.getServer().getWorlds()) {
+            for (final WitherSkeleton witherSkeleton : world.getEntitiesByClass(WitherSkeleton.class)) {
+                if (this.isMarked(witherSkeleton)) {
+                    this.add(witherSkeleton);
+                }
+            }
+        }
+        this.plugin.getLogger().log(Level.FINE, "[Archers] Rebuilt registry with {0} archer(s).", this.archers.size());
+    }
+
+    /**
+     * Stops tracking all archers.
+     *
+     * @since 1.1.0
+     */
+    public void clear() {
+        this.archers.clear();
+        this.populations.clear();
+        this.loadedArchers.clear();
+    }
+
+    /**
+     * Tracks the archers in a chunk as it is loaded.
+     *
+     * @param event The event.
+     * @since 1.1.0
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesLoad(final @NotNull EntitiesLoadEvent event) {
+        for (final Entity entity : event.getEntities()) {
+            if (entity.getType() == EntityType.WITHER_SKELETON && this.isMarked(entity)) {
+                this.add(entity);
+            }
+        }
+    }
+
+    /**
+     * Tracks archers as they are spawned or move into a world through a portal.
+     *
+     * @param event The event.
+     * @since 1.1.0
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityAddToWorld(final @NotNull EntityAddToWorldEvent event) {
+        final @NotNull Entity entity = event.getEntity();
+        if (entity.getType() == EntityType.WITHER_SKELETON && this.isMarked(entity)) {
+            this.add(entity);
+        }
+    }
+
+    /**
+     * Stops tracking archers when they die, are removed or are unloaded.
+     *
+     * @param event The event.
+     * @since 1.1.0
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityRemoveFromWorld(final @NotNull EntityRemoveFromWorldEvent event) {
+        final @NotNull Entity entity = event.getEntity();
+        if (entity.getType() == EntityType.WITHER_SKELETON && this.archers.remove(entity.getEntityId())) {
+            final @Nullable WorldPopulation population = this.populations.get(entity.getWorld().getUID());
+            if (population != null) {
+                population.remove(entity.getEntityId());
+            }
+            // Drop stale references once they outnumber the live archers.
+            if (this.loadedArchers.size() > 2 * this.archers.size() + 16) {
+                this.loadedArchers.removeIf(archer -> !this.archers.contains(archer.getEntityId()));
+            }
+        }
+    }
+
+    /**
+     * Drops the population index of a world when it is unloaded.
+     *
+     * @param event The event.
+     * @since 1.1.0
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(final @NotNull WorldUnloadEvent event) {
+        final @Nullable WorldPopulation population = this.populations.remove(event.getWorld().getUID());
+        if (population != null) {
+            population.forEachArcher(this.archers::remove);
+        }
+    }
+
+    // Adds an archer to the registry and the population index of its chunk.
+    private void add(final @NotNull Entity entity) {
+        final int entityId = entity.getEntityId();
+        if (!this.archers.add(entityId)) {
+            return;
+        }
+        this.loadedArchers.add((WitherSkeleton) entity);
+        final @NotNull Location location = entity.getLocation();
+        this.populations.computeIfAbsent(entity.getWorld().getUID(), uid -> new WorldPopulation())
+                .add(entityId, chunkKey(location.getBlockX() >> 4, location.getBlockZ() >> 4));
+    }
+
+    // Checks whether an entity carries the archer marker.
+    private boolean isMarked(final @NotNull Entity entity) {
+        return entity.getPersistentDataContainer().has(this.archerKey, PersistentDataType.BYTE);
+    }
+
+    // The archer population index of a single world.
+    private static final class WorldPopulation {
+        // Sentinel for archers without a recorded chunk.
+        private static final long NO_CHUNK = Long.MIN_VALUE;
+
+        // The chunk each archer was counted in, keyed by entity ID.
+        private final @NotNull IntLongHashMap chunksByArcher = new IntLongHashMap();
+        // The number of archers counted in each chunk, keyed by packed chunk coordinates.
+        private final @NotNull LongIntHashMap archersByChunk = new LongIntHashMap();
+
+        // Counts an archer in a chunk.
+        private void add(final int entityId, final long chunkKey) {
+            if (this.chunksByArcher.put(entityId, chunkKey)) {
+                this.archersByChunk.add(chunkKey, 1);
+            }
+        }
+
+        // Removes an archer from the chunk it was counted in.
+        private void remove(final int entityId) {
+            final long chunkKey = this.chunksByArcher.remove(entityId, NO_CHUNK);
+            if (chunkKey != NO_CHUNK) {
+                this.archersByChunk.add(chunkKey, -1);
+            }
+        }
+
+        // Visits the entity ID of each archer in the world.
+        private void forEachArcher(final @NotNull IntConsumer action) {
+            this.chunksByArcher.forEachKey(action);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package dev.satyrn.archersofdecay.entity;
+
+import dev.satyrn.archersofdecay.configuration.Configuration;
+import dev.satyrn.archersofdecay.configuration.ConfigurationSnapshot;
+import org.bukkit.Location;
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Mob;
+import org.bukkit.entity.WitherSkeleton;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.EntitiesLoadEvent;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * Turns off the AI of archers which are far away from every player.
+ * <br>
+ * Runs every tick, checking a fixed number of archers per tick so that large populations are spread across several
+ * ticks. Player positions are captured in a {@link PlayerGrid} at the start of each pass over the population.
+ * Throttled archers carry a persistent data marker, since awareness is saved with the entity, so they can be restored
+ * after their chunk is reloaded or throttling is turned off.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+public final class AwarenessThrottler implements Listener {
+    // The plugin.
+    private final @NotNull Plugin plugin;
+    // The configuration.
+    private final @NotNull Configuration configuration;
+    // The registry of converted archers.
+    private final @NotNull ArcherRegistry archerRegistry;
+    // The persistent data key which marks archers whose AI was turned off by the plugin.
+    private final @NotNull NamespacedKey throttledKey;
+    // Reused to read archer positions without allocating a location per check.
+    private final @NotNull Location scratchLocation = new Location(null, 0, 0, 0);
+    // The throttling task, or null while throttling is off.
+    private @Nullable BukkitTask task;
+    // The player positions for the current pass.
+    private @Nullable PlayerGrid playerGrid;
+    // The index of the next archer to check in the current pass.
+    private int cursor;
+
+    /**
+     * Initializes a new awareness throttler.
+     *
+     * @param plugin         The plugin.
+     * @param configuration  The configuration.
+     * @param archerRegistry The registry of converted archers.
+     * @since 1.1.0
+     */
+    public AwarenessThrottler(final @NotNull Plugin plugin, final @NotNull Configuration configuration, final @NotNull ArcherRegistry archerRegistry) {
+        this.plugin = plugin;
+        this.configuration = configuration;
+        this.archerRegistry = archerRegistry;
+        this.throttledKey = new NamespacedKey(plugin, "throttled");
+    }
+
+    /**
+     * Starts throttling if it is enabled, or stops it and restores every throttled archer otherwise.
+     *
+     * @since 1.1.0
+     */
+    public void update() {
+        if (this.configuration.snapshot().aiThrottling) {
+            if (this.task == null) {
+                this.cursor = 0;
+                this.playerGrid = null;
+                this.task = this.plugin.getServer().getScheduler().runTaskTimer(this.plugin, this::tick, 1L, 1L);
+            }
+        } else {
+            this.stop();
+        }
+    }
+
+    /**
+     * Stops throttling and restores the AI of every loaded throttled archer.
+     *
+     * @since 1.1.0
+     */
+    public void stop() {
+        if (this.task == null) {
+            return;
+        }
+        this.task.cancel();
+        this.task = null;
+        this.playerGrid = null;
+        int restored = 0;
+        for (final WitherSkeleton archer : this.archerRegistry.loadedArchers()) {
+            if (archer.isValid() && this.restore(archer)) {
+                restored++;
+            }
+        }
+        this.plugin.getLogger().log(Level.FINE, "[Archers] Restored AI for {0} archer(s).", restored);
+    }
+
+    /**
+     * Restores the AI of throttled archers loaded while throttling is off.
+     *
+     * @param event The event.
+     * @since 1.1.0
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesLoad(final @NotNull EntitiesLoadEvent event) {
+        if (this.task != null) {
+            return;
+        }
+        for (final Entity entity : event.getEntities()) {
+            if (entity.getType() == EntityType.WITHER_SKELETON) {
+                this.restore((Mob) entity);
+            }
+        }
+    }
+
+    // Checks the next batch of archers.
+    private void tick() {
+        final @NotNull ConfigurationSnapshot settings = this.configuration.snapshot();
+        final @NotNull List<WitherSkeleton> archers = this.archerRegistry.loadedArchers();
+        if (this.playerGrid == null || this.cursor >= archers.size()) {
+            // Start a new pass.
+            this.cursor = 0;
+            this.playerGrid = new PlayerGrid(this.plugin.getServer().getOnlinePlayers(), settings.aiThrottlingDistance);
+        }
+        int budget = settings.aiThrottlingArchersPerTick;
+        while (budget-- > 0 && this.cursor < archers.size()) {
+            final @NotNull WitherSkeleton archer = archers.get(this.cursor++);
+            if (archer.isValid()) {
+                this.check(archer, this.playerGrid);
+            }
+        }
+    }
+
+    // Turns an archer's AI on or off depending on whether a player is nearby.
+    private void check(final @NotNull WitherSkeleton archer, final @NotNull PlayerGrid playerGrid) {
+        final @NotNull Location location = archer.getLocation(this.scratchLocation);
+        if (playerGrid.isPlayerNearby(archer.getWorld(), location.getX(), location.getY(), location.getZ())) {
+            this.restore(archer);
+        } else if (archer.isAware()) {
+            archer.setAware(false);
+            archer.getPersistentDataContainer().set(this.throttledKey, PersistentDataType.BYTE, (byte) 1);
+        }
+    }
+
+    // Restores the AI of an archer if it was turned off by the plugin.
+    private boolean restore(final @NotNull Mob archer) {
+        final @NotNull PersistentDataContainer container = archer.getPersistentDataContainer();
+        if (!container.has(this.throttledKey, PersistentDataType.BYTE)) {
+            return false;
+        }
+        container.remove(this.throttledKey);
+        archer.setAware(true);
+        return true;
+    }
+}
@@ -0,0 +1,113 @@
+package dev.satyrn.archersofdecay.entity;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A snapshot of online player positions, bucketed into square cells per world.
+ * <br>
+ * The cell size matches the search distance, so checking whether a player is nearby only has to look at the
+ * surrounding 3x3 cells instead of every online player.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+final class PlayerGrid {
+    // The width of a cell in blocks.
+    private final int cellSize;
+    // The squared search distance.
+    private final double distanceSquared;
+    // The player positions in each cell, keyed by world UID and then by packed cell coordinates.
+    private final @NotNull Map<UUID, Map<Long, Cell>> worlds = new HashMap<>();
+
+    /**
+     * Builds a grid from the current positions of the given players.
+     *
+     * @param players  The players.
+     * @param distance The search distance in blocks.
+     * @since 1.1.0
+     */
+    PlayerGrid(final @NotNull Collection<? extends Player> players, final int distance) {
+        this.cellSize = distance;
+        this.distanceSquared = (double) distance * distance;
+        for (final Player player : players) {
+            final @NotNull Location location = player.getLocation();
+            final @NotNull Map<Long, Cell> cells = this.worlds.computeIfAbsent(player.getWorld().getUID(), uid -> new HashMap<>());
+            final long cellKey = ArcherRegistry.chunkKey(this.cell(location.getX()), this.cell(location.getZ()));
+            cells.computeIfAbsent(cellKey, key -> new Cell()).add(location.getX(), location.getY(), location.getZ());
+        }
+    }
+
+    /**
+     * Checks whether any player is within the search distance of a position.
+     *
+     * @param world The world.
+     * @param x     The X coordinate.
+     * @param y     The Y coordinate.
+     * @param z     The Z coordinate.
+     * @return True if a player is nearby.
+     * @since 1.1.0
+     */
+    boolean isPlayerNearby(final @NotNull World world, final double x, final double y, final double z) {
+        final @Nullable Map<Long, Cell> cells = this.worlds.get(world.getUID());
+        if (cells == null) {
+            return false;
+        }
+        final int cellX = this.cell(x);
+        final int cellZ = this.cell(z);
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dz = -1; dz <= 1; dz++) {
+                final @Nullable Cell cell = cells.get(ArcherRegistry.chunkKey(cellX + dx, cellZ + dz));
+                if (cell != null && cell.isWithin(x, y, z, this.distanceSquared)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Gets the cell coordinate of a block coordinate.
+    private int cell(final double coordinate) {
+        return Math.floorDiv((int) Math.floor(coordinate), this.cellSize);
+    }
+
+    // The player positions in a single cell, stored as x, y, z triplets.
+    private static final class Cell {
+        // The player positions.
+        private double[] positions = new double[6];
+        // The number of values used in the positions array.
+        private int length;
+
+        // Adds a player position.
+        private void add(final double x, final double y, final double z) {
+            if (this.length + 3 > this.positions.length) {
+                this.positions = Arrays.copyOf(this.positions, this.positions.length * 2);
+            }
+            this.positions[this.length++] = x;
+            this.positions[this.length++] = y;
+            this.positions[this.length++] = z;
+        }
+
+        // Checks whether any player in the cell is within the given squared distance.
+        private boolean isWithin(final double x, final double y, final double z, final double distanceSquared) {
+            for (int i = 0; i < this.length; i += 3) {
+                final double dx = this.positions[i] - x;
+                final double dy = this.positions[i + 1] - y;
+                final double dz = this.positions[i + 2] - z;
+                if (dx * dx + dy * dy + dz * dz <= distanceSquared) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package dev.satyrn.archersofdecay.event;
+
+import dev.satyrn.archersofdecay.configuration.Configuration;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Level;
+
+/**
+ * Merges arrow drops which happen in the same block during the same tick into a single item.
+ * <br>
+ * Drops are collected until the scheduler runs the flush task on the next tick. The number of pending blocks is
+ * bounded; once the limit is reached, further drops are rejected and should be dropped normally.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+final class ArrowDropCoalescer {
+    // The maximum number of distinct blocks with pending drops.
+    private static final int MAX_PENDING_DROPS = 1024;
+
+    // The plugin.
+    private final @NotNull Plugin plugin;
+    // The configuration.
+    private final @NotNull Configuration configuration;
+    // The pending drops for the current tick.
+    private final @NotNull Map<DropKey, PendingDrop> pendingDrops = new HashMap<>();
+    // Whether a flush task has been scheduled for the pending drops.
+    private boolean flushScheduled;
+
+    /**
+     * Initializes a new drop coalescer.
+     *
+     * @param plugin        The plugin.
+     * @param configuration The configuration.
+     * @since 1.1.0
+     */
+    ArrowDropCoalescer(final @NotNull Plugin plugin, final @NotNull Configuration configuration) {
+        this.plugin = plugin;
+        this.configuration = configuration;
+    }
+
+    /**
+     * Queues arrows to be dropped at the end of the tick.
+     *
+     * @param location The location of the drop.
+     * @param cell     The settings cell at the location, which decides the arrow variant.
+     * @param count    The number of arrows.
+     * @return True if the drop was queued, or false if too many drops are pending.
+     * @since 1.1.0
+     */
+    boolean offer(final @NotNull Location location, final int cell, final int count) {
+        final @NotNull World world = location.getWorld();
+        final @NotNull DropKey key = new DropKey(world.getUID(), blockKey(location.getBlockX(), location.getBlockY(), location.getBlockZ()), cell);
+        final PendingDrop pendingDrop = this.pendingDrops.get(key);
+        if (pendingDrop != null) {
+            pendingDrop.count += count;
+            return true;
+        }
+        if (this.pendingDrops.size() >= MAX_PENDING_DROPS) {
+            return false;
+        }
+        this.pendingDrops.put(key, new PendingDrop(location, this.configuration.snapshot().arrowDrop(cell, 1), count));
+        if (!this.flushScheduled) {
+            this.flushScheduled = true;
+            this.plugin.getServer().getScheduler().runTask(this.plugin, this::flush);
+        }
+        return true;
+    }
+
+    /**
+     * Drops all pending arrows, one merged item per block.
+     *
+     * @since 1.1.0
+     */
+    void flush() {
+        this.flushScheduled = false;
+        if (this.pendingDrops.isEmpty()) {
+            return;
+        }
+        for (final Map.Entry<DropKey, PendingDrop> entry : this.pendingDrops.entrySet()) {
+            final @NotNull Location location = entry.getValue().location;
+            final @NotNull ItemStack arrows = entry.getValue().arrows;
+            final int maxStackSize = arrows.getMaxStackSize();
+            int remaining = entry.getValue().count;
+            while (remaining > 0) {
+                final int amount = Math.min(remaining, maxStackSize);
+                final @NotNull ItemStack stack = arrows.clone();
+                stack.setAmount(amount);
+                location.getWorld().dropItemNaturally(location, stack);
+                remaining -= amount;
+            }
+        }
+        if (this.plugin.getLogger().isLoggable(Level.FINER)) {
+            this.plugin.getLogger().log(Level.FINER, "[Events] Dropped coalesced arrows in {0} block(s).", this.pendingDrops.size());
+        }
+        this.pendingDrops.clear();
+    }
+
+    // Packs block coordinates into a single long.
+    private static long blockKey(final int x, final int y, final int z) {
+        return ((long) x & 0x7FFFFFFL) | (((long) z & 0x7FFFFFFL) << 27) | ((long) y << 54);
+    }
+
+    // Identifies a block and arrow variant with pending drops.
+    private record DropKey(@NotNull UUID world, long block, int cell) {
+    }
+
+    // The arrows pending for a single block.
+    private static final class PendingDrop {
+        // The location of the first drop in the block.
+        private final @NotNull Location location;
+        // A single arrow of the variant to drop, resolved when the first drop was queued.
+        private final @NotNull ItemStack arrows;
+        // The number of arrows to drop.
+        private int count;
+
+        // Creates a new pending drop.
+        private PendingDrop(final @NotNull Location location, final @NotNull ItemStack arrows, final int count) {
+            this.location = location;
+            this.arrows = arrows;
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package dev.satyrn.archersofdecay.event;
+
+import dev.satyrn.archersofdecay.configuration.Configuration;
+import dev.satyrn.archersofdecay.configuration.ConfigurationSnapshot;
+import dev.satyrn.archersofdecay.entity.ArcherRegistry;
+import dev.satyrn.archersofdecay.jfr.ArrowDropFlightEvent;
+import dev.satyrn.archersofdecay.stats.Counter;
+import dev.satyrn.archersofdecay.stats.Handler;
+import dev.satyrn.archersofdecay.stats.PluginStatistics;
+import dev.satyrn.archersofdecay.world.WorldProfile;
+import dev.satyrn.archersofdecay.world.WorldProfiles;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.entity.*;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.inventory.EntityEquipment;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.projectiles.ProjectileSource;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Drops arrows from wither skeleton archers when they die.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+public final class ArrowDropEvents implements Listener {
+    // The plugin.
+    private final @NotNull Plugin plugin;
+    // The configuration.
+    private final @NotNull Configuration configuration;
+    // The registry of converted archers.
+    private final @NotNull ArcherRegistry archerRegistry;
+    // Merges drops in the same block during the same tick.
+    private final @NotNull ArrowDropCoalescer coalescer;
+    // The plugin statistics.
+    private final @NotNull PluginStatistics statistics;
+    // The profiles of the loaded worlds.
+    private final @NotNull WorldProfiles worldProfiles;
+
+    /**
+     * Initializes a new listener.
+     *
+     * @param plugin         The plugin.
+     * @param configuration  The configuration.
+     * @param archerRegistry The archer registry.
+     * @param statistics     The plugin statistics.
+     * @param worldProfiles  The world profiles.
+     * @since 1.1.0
+     */
+    ArrowDropEvents(final @NotNull Plugin plugin, final @NotNull Configuration configuration, final @NotNull ArcherRegistry archerRegistry, final @NotNull PluginStatistics statistics, final @NotNull WorldProfiles worldProfiles) {
+        this.plugin = plugin;
+        this.configuration = configuration;
+        this.archerRegistry = archerRegistry;
+        this.coalescer = new ArrowDropCoalescer(plugin, configuration);
+        this.statistics = statistics;
+        this.worldProfiles = worldProfiles;
+    }
+
+    /**
+     * Handles wither skeleton deaths.
+     * <br>
+     * Rolls the base arrow drop and the Looting bonus from the killing blow, and adds the arrows to the entity's drops
+     * as a single stack. If drop coalescing is enabled, the stack is instead merged with other drops in the same block and
+     * dropped on the next tick.
+     *
+     * @param event The event.
+     * @since 0.0.0-SNAPSHOT
+     */
+    @EventHandler
+    public void onWitherSkeletonDeath(final @NotNull EntityDeathEvent event) {
+        final @NotNull LivingEntity witherSkeleton = event.getEntity();
+        final @NotNull ConfigurationSnapshot settings = this.configuration.snapshot();
+        // We won't handle the event if drop arrows is disabled or the entity killed was not a wither skeleton.
+        if (!settings.dropArrows || witherSkeleton.getType() != EntityType.WITHER_SKELETON) {
+            return;
+        }
+        if (settings.archersOnly && !this.archerRegistry.isArcher(witherSkeleton)) {
+            return;
+        }
+        final long start = System.nanoTime();
+        final @NotNull ArrowDropFlightEvent flightEvent = new ArrowDropFlightEvent();
+        flightEvent.begin();
+        try {
+            final @Nullable EntityEquipment witherSkeletonEquipment = witherSkeleton.getEquipment();
+            // Do not process for wither skeletons not wielding a bow.
+            if (witherSkeletonEquipment == null || witherSkeletonEquipment.getItemInMainHand().getType() != Material.BOW) {
+                return;
+            }
+
+            final int arrowsToDrop = (int) Math.floor(Math.random() * 3);
+            final int lootingLevel = getLootingLevel(witherSkeleton.getLastDamageCause());
+            final int lootingArrowsToDrop = lootingLevel > 0 ? (int) Math.floor(Math.random() * (lootingLevel + 1)) : 0;
+            final @NotNull World world = witherSkeleton.getWorld();
+            final @NotNull WorldProfile profile = this.worldProfiles.profile(world);
+            flightEvent.setWorld(world, profile.difficulty);
+            flightEvent.itemCount = arrowsToDrop + lootingArrowsToDrop;
+            flightEvent.lootingCount = lootingArrowsToDrop;
+            flightEvent.lootingLevel = lootingLevel;
+            if (arrowsToDrop + lootingArrowsToDrop > 0) {
+                final @NotNull Location location = witherSkeleton.getLocation();
+                final @NotNull Logger logger = this.plugin.getLogger();
+                if (logger.isLoggable(Level.FINER)) {
+                    logger.log(Level.FINER, "[Events] Dropped {0} arrows ({1} due to Looting) from wither skeleton at x:{2}, y:{3}, z:{4} in world {5}", new Object[]{arrowsToDrop + lootingArrowsToDrop, lootingArrowsToDrop, location.getX(), location.getY(), location.getZ(), world.getName()});
+                }
+                this.statistics.count(Counter.DROPPED_ARROWS, profile.uid, profile.difficulty, arrowsToDrop + lootingArrowsToDrop);
+                this.statistics.count(Counter.LOOTING_ARROWS, profile.uid, profile.difficulty, lootingArrowsToDrop);
+                final int cell = settings.cell(profile.cell, world, location);
+                flightEvent.coalesced = settings.coalesceDrops && this.coalescer.offer(location, cell, arrowsToDrop + lootingArrowsToDrop);
+                if (!flightEvent.coalesced) {
+                    event.getDrops().add(settings.arrowDrop(cell, arrowsToDrop + lootingArrowsToDrop));
+                }
+            }
+        } finally {
+            this.statistics.record(Handler.DEATH, System.nanoTime() - start);
+            flightEvent.commitIfSet();
+        }
+    }
+
+    /**
+     * Drops any arrows still waiting to be merged.
+     *
+     * @since 1.1.0
+     */
+    void flushPendingDrops() {
+        this.coalescer.flush();
+    }
+
+    // Gets the Looting level of the entity responsible for the killing blow.
+    private static int getLootingLevel(final @Nullable EntityDamageEvent lastDamageCause) {
+        if (!(lastDamageCause instanceof final EntityDamageByEntityEvent damageByEntityEvent)) {
+            return 0;
+        }
+
+        @Nullable Entity damager = damageByEntityEvent.getDamager();
+        if (damager instanceof final Projectile projectile) {
+            ProjectileSource source = projectile.getShooter();
+            if (source instanceof final Entity shootingEntity) {
+                damager = shootingEntity;
+            }
+        } else if (damager instanceof final TNTPrimed primedTNT) {
+            damager = primedTNT.getSource();
+        }
+
+        if (damager instanceof final LivingEntity livingEntity) {
+            final @Nullable EntityEquipment entityEquipment = livingEntity.getEquipment();
+            if (entityEquipment != null) {
+                return Math.max(entityEquipment.getItemInMainHand().getEnchantmentLevel(Enchantment.LOOT_BONUS_MOBS), entityEquipment.getItemInOffHand().getEnchantmentLevel(Enchantment.LOOT_BONUS_MOBS));
+            }
+        }
+        return 0;
+    }
+}
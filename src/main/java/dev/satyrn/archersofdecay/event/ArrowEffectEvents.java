@@ -0,0 +1,161 @@
+package dev.satyrn.archersofdecay.event;
+
+import dev.satyrn.archersofdecay.configuration.Configuration;
+import dev.satyrn.archersofdecay.configuration.ConfigurationSnapshot;
+import dev.satyrn.archersofdecay.entity.ArcherRegistry;
+import dev.satyrn.archersofdecay.jfr.ArrowShotFlightEvent;
+import dev.satyrn.archersofdecay.load.LoadGovernor;
+import dev.satyrn.archersofdecay.stats.Counter;
+import dev.satyrn.archersofdecay.stats.Handler;
+import dev.satyrn.archersofdecay.stats.PluginStatistics;
+import dev.satyrn.archersofdecay.world.WorldProfile;
+import dev.satyrn.archersofdecay.world.WorldProfiles;
+import org.bukkit.Color;
+import org.bukkit.Location;
+import org.bukkit.NamespacedKey;
+import org.bukkit.World;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.entity.Arrow;
+import org.bukkit.entity.EntityType;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityShootBowEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Applies arrows of decay and the flaming arrow override to arrows fired by wither skeletons.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+public final class ArrowEffectEvents implements Listener {
+    /**
+     * The name of the persistent data key which holds the wither effect carried by a lightweight arrow.
+     *
+     * @since 1.1.0
+     */
+    static final @NotNull String DECAY_KEY = "decay";
+
+    // The plugin.
+    private final @NotNull Plugin plugin;
+    // The configuration.
+    private final @NotNull Configuration configuration;
+    // The registry of converted archers.
+    private final @NotNull ArcherRegistry archerRegistry;
+    // Scales back work while the server is falling behind.
+    private final @NotNull LoadGovernor loadGovernor;
+    // The plugin statistics.
+    private final @NotNull PluginStatistics statistics;
+    // The profiles of the loaded worlds.
+    private final @NotNull WorldProfiles worldProfiles;
+    // The persistent data key which holds the wither effect carried by a lightweight arrow.
+    private final @NotNull NamespacedKey decayKey;
+    // Reused to read arrow positions without allocating.
+    private final @NotNull Location scratchLocation = new Location(null, 0D, 0D, 0D);
+
+    /**
+     * Initializes a new listener.
+     *
+     * @param plugin         The plugin.
+     * @param configuration  The configuration.
+     * @param archerRegistry The archer registry.
+     * @param loadGovernor   The load governor.
+     * @param statistics     The plugin statistics.
+     * @param worldProfiles  The world profiles.
+     * @since 1.1.0
+     */
+    ArrowEffectEvents(final @NotNull Plugin plugin, final @NotNull Configuration configuration, final @NotNull ArcherRegistry archerRegistry, final @NotNull LoadGovernor loadGovernor, final @NotNull PluginStatistics statistics, final @NotNull WorldProfiles worldProfiles) {
+        this.plugin = plugin;
+        this.configuration = configuration;
+        this.archerRegistry = archerRegistry;
+        this.loadGovernor = loadGovernor;
+        this.statistics = statistics;
+        this.worldProfiles = worldProfiles;
+        this.decayKey = new NamespacedKey(plugin, DECAY_KEY);
+    }
+
+    /**
+     * Handles wither skeletons shooting arrows.
+     * <br>
+     * Fires before the arrow is added to the world, and only for entities shooting a bow, so projectiles launched by
+     * players, dispensers or other mobs never reach this handler.
+     *
+     * @param event The event.
+     * @since 1.1.0
+     */
+    @EventHandler(ignoreCancelled = true)
+    public void onWitherSkeletonShootArrow(final @NotNull EntityShootBowEvent event) {
+        if (event.getEntity().getType() != EntityType.WITHER_SKELETON || !(event.getProjectile() instanceof final Arrow arrow)) {
+            return;
+        }
+        final long start = System.nanoTime();
+        final @NotNull ArrowShotFlightEvent flightEvent = new ArrowShotFlightEvent();
+        flightEvent.begin();
+        try {
+            final @NotNull ConfigurationSnapshot settings = this.configuration.snapshot();
+            if (settings.archersOnly && !this.archerRegistry.isArcher(event.getEntity())) {
+                return;
+            }
+            final @NotNull World world = arrow.getWorld();
+            final @NotNull WorldProfile profile = this.worldProfiles.profile(world);
+            final @NotNull Location location = arrow.getLocation(this.scratchLocation);
+            final int cell = settings.cell(profile.cell, world, location);
+            flightEvent.setWorld(world, profile.difficulty);
+            if (settings.decayArrows(cell)) {
+                final int duration = settings.effectDuration(cell);
+                final int effectLevel = settings.effectLevel(cell);
+                final @NotNull Logger logger = this.plugin.getLogger();
+                if (logger.isLoggable(Level.FINER)) {
+                    logger.log(Level.FINER, "[Events] Wither skeleton fired arrow at x:{0}, y:{1}, z:{2} in world {3}; applying Wither effect at level {4} for {5} ticks.", new Object[]{location.getX(), location.getY(), location.getZ(), world.getName(), effectLevel, duration});
+                }
+                if (settings.lightweightArrows) {
+                    // The effect is applied on hit, see ArrowHitEvents.
+                    arrow.getPersistentDataContainer().set(this.decayKey, PersistentDataType.LONG, packEffect(effectLevel, duration));
+                } else {
+                    arrow.setBasePotionData(ConfigurationSnapshot.UNCRAFTABLE);
+                    arrow.addCustomEffect(Objects.requireNonNull(settings.decayEffect(cell)), true);
+                    // Recoloring is cosmetic, so it is skipped while shedding load.
+                    if (!this.loadGovernor.isShedding()) {
+                        arrow.setColor(Color.BLACK);
+                    }
+                }
+                this.statistics.count(Counter.DECORATED_ARROWS, profile.uid, profile.difficulty, 1L);
+                flightEvent.decay = true;
+                flightEvent.lightweight = settings.lightweightArrows;
+            }
+
+            // Disable vanilla flaming arrows by configuration.
+            if (!settings.flamingArrows) {
+                final @Nullable ItemStack bow = event.getBow();
+                if (bow == null || bow.getEnchantmentLevel(Enchantment.ARROW_FIRE) == 0) {
+                    arrow.setVisualFire(false);
+                    arrow.setFireTicks(0);
+                    flightEvent.flamesRemoved = true;
+                }
+            }
+        } finally {
+            this.statistics.record(Handler.SHOOT_ARROW, System.nanoTime() - start);
+            flightEvent.commitIfSet();
+        }
+    }
+
+    /**
+     * Packs a wither effect level and duration into the value stored on a lightweight arrow.
+     *
+     * @param effectLevel The effect level, stored in the high 32 bits.
+     * @param duration    The effect duration in ticks, stored in the low 32 bits.
+     * @return The packed value.
+     * @since 1.1.0
+     */
+    static long packEffect(final int effectLevel, final int duration) {
+        return ((long) effectLevel << 32) | (duration & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,98 @@
+package dev.satyrn.archersofdecay.event;
+
+import dev.satyrn.archersofdecay.jfr.ArrowHitFlightEvent;
+import dev.satyrn.archersofdecay.stats.Handler;
+import dev.satyrn.archersofdecay.stats.PluginStatistics;
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Arrow;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.WitherSkeleton;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.potion.PotionEffectType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Applies the wither effect carried by lightweight arrows of decay to the entities they hit.
+ * <br>
+ * The effect is only applied once the damage from the arrow is final and above zero, so arrows which are blocked by a
+ * shield, absorbed during invulnerability frames or whose damage is cancelled leave the entity untouched, as a tipped
+ * arrow would. Arrows whose shooter is no longer known, such as arrows reloaded with their chunk after the wither
+ * skeleton that fired them was unloaded, are left untouched.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+public final class ArrowHitEvents implements Listener {
+    // The plugin.
+    private final @NotNull Plugin plugin;
+    // The persistent data key which holds the wither effect carried by a lightweight arrow.
+    private final @NotNull NamespacedKey decayKey;
+    // The plugin statistics.
+    private final @NotNull PluginStatistics statistics;
+
+    /**
+     * Initializes a new listener.
+     *
+     * @param plugin     The plugin.
+     * @param statistics The plugin statistics.
+     * @since 1.1.0
+     */
+    ArrowHitEvents(final @NotNull Plugin plugin, final @NotNull PluginStatistics statistics) {
+        this.plugin = plugin;
+        this.decayKey = new NamespacedKey(plugin, ArrowEffectEvents.DECAY_KEY);
+        this.statistics = statistics;
+    }
+
+    /**
+     * Handles lightweight arrows damaging an entity.
+     *
+     * @param event The event.
+     * @since 1.1.0
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onDecayArrowHit(final @NotNull EntityDamageByEntityEvent event) {
+        final @NotNull Entity hitEntity = event.getEntity();
+        if (!(hitEntity instanceof final LivingEntity livingEntity) || !(event.getDamager() instanceof final Arrow arrow)) {
+            return;
+        }
+        // Only wither skeletons fire decay arrows. The persistent data lookup builds a key string, so arrows from
+        // players and other mobs are turned away before it.
+        if (!(arrow.getShooter() instanceof WitherSkeleton) || event.getFinalDamage() <= 0D) {
+            return;
+        }
+        final @Nullable Long effect = arrow.getPersistentDataContainer().get(this.decayKey, PersistentDataType.LONG);
+        if (effect == null) {
+            return;
+        }
+        final long start = System.nanoTime();
+        final @NotNull ArrowHitFlightEvent flightEvent = new ArrowHitFlightEvent();
+        flightEvent.begin();
+        try {
+            final int effectLevel = (int) (effect >>> 32);
+            final int duration = (int) effect.longValue();
+            final @NotNull Logger logger = this.plugin.getLogger();
+            if (logger.isLoggable(Level.FINER)) {
+                logger.log(Level.FINER, "[Events] Wither skeleton arrow hit {0}; applying Wither effect at level {1} for {2} ticks.", new Object[]{livingEntity.getType(), effectLevel, duration});
+            }
+            flightEvent.setWorld(livingEntity.getWorld());
+            flightEvent.entityType = livingEntity.getType().name();
+            flightEvent.effectLevel = effectLevel;
+            flightEvent.duration = duration;
+            livingEntity.addPotionEffect(new PotionEffect(PotionEffectType.WITHER, duration, effectLevel));
+        } finally {
+            this.statistics.record(Handler.ARROW_HIT, System.nanoTime() - start);
+            flightEvent.commitIfSet();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package dev.satyrn.archersofdecay.event;
+
+import dev.satyrn.archersofdecay.configuration.Configuration;
+import dev.satyrn.archersofdecay.configuration.ConfigurationSnapshot;
+import dev.satyrn.archersofdecay.configuration.ReplacementRule;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.event.entity.CreatureSpawnEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Holds replacement spawns which were taken out of the spawn event, and hands them out over the following ticks.
+ * <br>
+ * Each tick, requests are drained until the configured time budget runs out, so a burst of spawns is spread across
+ * several ticks. The queue is bounded; once it is full, further requests are rejected and the skeleton should be left
+ * to spawn normally. The drain task only runs while requests are waiting.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+final class SpawnQueue {
+    // The plugin.
+    private final @NotNull Plugin plugin;
+    // The configuration.
+    private final @NotNull Configuration configuration;
+    // Spawns a queued request.
+    private final @NotNull Consumer<SpawnRequest> spawner;
+    // The waiting requests, oldest first.
+    private final @NotNull ArrayDeque<SpawnRequest> requests = new ArrayDeque<>();
+    // The drain task, or null while the queue is empty.
+    private @Nullable BukkitTask task;
+
+    /**
+     * Initializes a new spawn queue.
+     *
+     * @param plugin        The plugin.
+     * @param configuration The configuration.
+     * @param spawner       Spawns a queued request.
+     * @since 1.1.0
+     */
+    SpawnQueue(final @NotNull Plugin plugin, final @NotNull Configuration configuration, final @NotNull Consumer<SpawnRequest> spawner) {
+        this.plugin = plugin;
+        this.configuration = configuration;
+        this.spawner = spawner;
+    }
+
+    /**
+     * Queues a replacement to be spawned on a later tick.
+     *
+     * @param settings The current settings.
+     * @param rule     The replacement rule which applied.
+     * @param reason   The reason the replaced mob spawned, which the replacement spawns with.
+     * @param location The spawn location.
+     * @param mainHand The item to hold in the main hand, or null to keep the default item.
+     * @param armor    The armor to wear, or null to keep the default armor.
+     * @return True if the spawn was queued, or false if the queue is full.
+     * @since 1.1.0
+     */
+    boolean offer(final @NotNull ConfigurationSnapshot settings, final @NotNull ReplacementRule rule, final @NotNull CreatureSpawnEvent.SpawnReason reason, final @NotNull Location location, final @Nullable ItemStack mainHand, final @Nullable ItemStack[] armor) {
+        if (this.requests.size() >= settings.spawnQueueSize) {
+            return false;
+        }
+        this.requests.addLast(new SpawnRequest(rule, reason, location.getWorld().getUID(), location.getX(), location.getY(), location.getZ(), mainHand, armor));
+        if (this.task == null) {
+            this.task = this.plugin.getServer().getScheduler().runTaskTimer(this.plugin, this::drain, 1L, 1L);
+        }
+        return true;
+    }
+
+    /**
+     * Discards every waiting request and stops the drain task.
+     *
+     * @since 1.1.0
+     */
+    void clear() {
+        if (this.task != null) {
+            this.task.cancel();
+            this.task = null;
+        }
+        if (!this.requests.isEmpty()) {
+            this.plugin.getLogger().log(Level.FINE, "[Events] Discarded {0} queued replacement spawn(s).", this.requests.size());
+            this.requests.clear();
+        }
+    }
+
+    // Spawns waiting requests until the time budget for this tick runs out.
+    private void drain() {
+        final long start = System.nanoTime();
+        final long budget = this.configuration.snapshot().spawnTickBudget;
+        int spawned = 0;
+        do {
+            final @Nullable SpawnRequest request = this.requests.pollFirst();
+            if (request == null) {
+                break;
+            }
+            this.spawner.accept(request);
+            spawned++;
+        } while (System.nanoTime() - start < budget);
+        final @NotNull Logger logger = this.plugin.getLogger();
+        if (logger.isLoggable(Level.FINER)) {
+            logger.log(Level.FINER, "[Events] Spawned {0} queued replacement(s); {1} still waiting.", new Object[]{spawned, this.requests.size()});
+        }
+        if (this.requests.isEmpty() && this.task != null) {
+            this.task.cancel();
+            this.task = null;
+        }
+    }
+
+    /**
+     * A replacement spawn waiting in the queue.
+     *
+     * @param rule     The replacement rule which applied.
+     * @param reason   The reason the replaced mob spawned, which the replacement spawns with.
+     * @param world    The UID of the world to spawn in.
+     * @param x        The X coordinate.
+     * @param y        The Y coordinate.
+     * @param z        The Z coordinate.
+     * @param mainHand The item to hold in the main hand, or null to keep the default item.
+     * @param armor    The armor to wear, or null to keep the default armor.
+     * @since 1.1.0
+     */
+    record SpawnRequest(@NotNull ReplacementRule rule, @NotNull CreatureSpawnEvent.SpawnReason reason, @NotNull UUID world, double x, double y, double z, @Nullable ItemStack mainHand, @Nullable ItemStack[] armor) {
+        /**
+         * Gets the spawn location, if its world and chunk are still loaded.
+         *
+         * @param plugin The plugin.
+         * @return The location, or null if the spawn should be skipped.
+         * @since 1.1.0
+         */
+        @Nullable Location location(final @NotNull Plugin plugin) {
+            final @Nullable World world = plugin.getServer().getWorld(this.world);
+            if (world == null || !world.isChunkLoaded((int) Math.floor(this.x) >> 4, (int) Math.floor(this.z) >> 4)) {
+                return null;
+            }
+            return new Location(world, this.x, this.y, this.z);
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package dev.satyrn.archersofdecay.event;
+
+import com.destroystokyo.paper.event.entity.PreCreatureSpawnEvent;
+import dev.satyrn.archersofdecay.configuration.Configuration;
+import dev.satyrn.archersofdecay.configuration.ConfigurationSnapshot;
+import dev.satyrn.archersofdecay.configuration.ReplacementRule;
+import dev.satyrn.archersofdecay.entity.ArcherRegistry;
+import dev.satyrn.archersofdecay.jfr.SpawnReplacementFlightEvent;
+import dev.satyrn.archersofdecay.load.LoadGovernor;
+import dev.satyrn.archersofdecay.stats.Counter;
+import dev.satyrn.archersofdecay.stats.Handler;
+import dev.satyrn.archersofdecay.stats.PluginStatistics;
+import dev.satyrn.archersofdecay.world.WorldProfile;
+import dev.satyrn.archersofdecay.world.WorldProfiles;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.entity.AbstractSkeleton;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.WitherSkeleton;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.CreatureSpawnEvent;
+import org.bukkit.inventory.EntityEquipment;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Replaces spawning mobs according to the replacement rules, by default skeletons spawning in the nether with wither
+ * skeleton archers.
+ * <br>
+ * Spawns are matched against the rules' dispatch table first, so mobs which no rule replaces cost a single array read.
+ * With deferred spawning enabled, the spawn event is only cancelled and the replacement is queued, to be spawned over
+ * the following ticks.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+public final class SpawnReplacementEvents implements Listener {
+    // The bow given to skeletons replacing mobs before they spawn. Equipment is copied when set, so it is shared.
+    private static final ItemStack BOW = new ItemStack(Material.BOW);
+
+    // The plugin.
+    private final @NotNull Plugin plugin;
+    // The configuration.
+    private final @NotNull Configuration configuration;
+    // The registry of converted archers.
+    private final @NotNull ArcherRegistry archerRegistry;
+    // Scales back work while the server is falling behind.
+    private final @NotNull LoadGovernor loadGovernor;
+    // The plugin statistics.
+    private final @NotNull PluginStatistics statistics;
+    // The profiles of the loaded worlds.
+    private final @NotNull WorldProfiles worldProfiles;
+    // The replacements waiting to be spawned while deferred spawning is enabled.
+    private final @NotNull SpawnQueue spawnQueue;
+    // Whether a replacement is being spawned, so its own spawn event is not considered for replacement.
+    private boolean spawning;
+
+    /**
+     * Initializes a new listener.
+     *
+     * @param plugin         The plugin.
+     * @param configuration  The configuration.
+     * @param archerRegistry The archer registry.
+     * @param loadGovernor   The load governor.
+     * @param statistics     The plugin statistics.
+     * @param worldProfiles  The world profiles.
+     * @since 1.1.0
+     */
+    SpawnReplacementEvents(final @NotNull Plugin plugin, final @NotNull Configuration configuration, final @NotNull ArcherRegistry archerRegistry, final @NotNull LoadGovernor loadGovernor, final @NotNull PluginStatistics statistics, final @NotNull WorldProfiles worldProfiles) {
+        this.plugin = plugin;
+        this.configuration = configuration;
+        this.archerRegistry = archerRegistry;
+        this.loadGovernor = loadGovernor;
+        this.statistics = statistics;
+        this.worldProfiles = worldProfiles;
+        this.spawnQueue = new SpawnQueue(plugin, configuration, this::spawnQueued);
+    }
+
+    /**
+     * Discards any replacements still waiting to be spawned.
+     *
+     * @since 1.1.0
+     */
+    void clearSpawnQueue() {
+        this.spawnQueue.clear();
+    }
+
+    /**
+     * Replaces naturally spawning mobs before the server constructs them.
+     * <br>
+     * Mobs which would need their armor copied to the replacement are left to
+     * {@link #onSpawnSkeleton(CreatureSpawnEvent)}, as their equipment is only rolled once the entity exists. Spawns for
+     * other reasons are also left to it, so each spawn is only rolled once.
+     *
+     * @param event The event.
+     * @since 1.1.0
+     */
+    @EventHandler(ignoreCancelled = true)
+    public void onPreSpawnSkeleton(final @NotNull PreCreatureSpawnEvent event) {
+        final @NotNull ConfigurationSnapshot settings = this.configuration.snapshot();
+        // Only natural spawns which match a replacement rule. Armor transfer requires the fully equipped mob.
+        if (event.getReason() != CreatureSpawnEvent.SpawnReason.NATURAL || !settings.replacementRules.matches(event.getType(), event.getReason()) || this.transferArmor(settings)) {
+            return;
+        }
+        final @NotNull Location location = event.getSpawnLocation();
+        final @Nullable World world = location.getWorld();
+        if (world == null) {
+            return;
+        }
+        // Only spawn in worlds where a rule can replace spawns.
+        final @NotNull WorldProfile profile = this.worldProfiles.profile(world);
+        if (!profile.replaceSpawns) {
+            return;
+        }
+        final long start = System.nanoTime();
+        final @NotNull SpawnReplacementFlightEvent flightEvent = new SpawnReplacementFlightEvent();
+        flightEvent.begin();
+        try {
+            final @Nullable ReplacementRule rule = settings.replacementRules.select(event.getType(), event.getReason(), profile.environment, world, location);
+            if (rule == null) {
+                return;
+            }
+            final double spawnChance = this.loadGovernor.scaleSpawnChance(settings, this.spawnChance(settings, rule, profile, world, location));
+            flightEvent.setWorld(world, profile.difficulty);
+            flightEvent.preSpawn = true;
+            flightEvent.rule = rule.name;
+            flightEvent.spawnChance = spawnChance;
+            if (spawnChance <= 0) {
+                flightEvent.outcome = SpawnReplacementFlightEvent.NO_CHANCE;
+                return;
+            }
+            if (this.isCapped(settings, rule, world, location)) {
+                flightEvent.outcome = SpawnReplacementFlightEvent.CAPPED;
+                return;
+            }
+            this.statistics.count(Counter.REPLACEMENT_ATTEMPTS, profile.uid, profile.difficulty, 1L);
+            if (Math.random() >= spawnChance) {
+                flightEvent.outcome = SpawnReplacementFlightEvent.NOT_ROLLED;
+            } else if (!this.replace(settings, rule, event.getReason(), world, location, rule.skeleton ? BOW : null, null)) {
+                flightEvent.outcome = SpawnReplacementFlightEvent.QUEUE_FULL;
+            } else {
+                flightEvent.outcome = settings.deferredSpawning ? SpawnReplacementFlightEvent.QUEUED : SpawnReplacementFlightEvent.REPLACED;
+                event.setCancelled(true);
+                this.statistics.count(Counter.REPLACEMENTS, profile.uid, profile.difficulty, 1L);
+                final @NotNull Logger logger = this.plugin.getLogger();
+                if (logger.isLoggable(Level.FINER)) {
+                    logger.log(Level.FINER, "[Events] Replaced {0} with {1} before spawn at x:{2}, y:{3}, z:{4} in world {5} with a chance of {6}% by rule {7}", new Object[]{event.getType(), rule.to, location.getX(), location.getY(), location.getZ(), world.getName(), spawnChance * 100, rule.name});
+                }
+            }
+        } finally {
+            this.statistics.record(Handler.PRE_SPAWN_SKELETON, System.nanoTime() - start);
+            flightEvent.commitIfSet();
+        }
+    }
+
+    /**
+     * Handles mobs spawning.
+     * <br>
+     * Natural spawns are rolled in {@link #onPreSpawnSkeleton(PreCreatureSpawnEvent)} unless armor has to be copied
+     * from the mob, so this only handles armor transfer and spawns for other reasons, such as spawners.
+     *
+     * @param event The event.
+     * @since 0.0.0-SNAPSHOT
+     */
+    @EventHandler
+    public void onSpawnSkeleton(final @NotNull CreatureSpawnEvent event) {
+        final @NotNull LivingEntity entity = event.getEntity();
+        final @NotNull CreatureSpawnEvent.SpawnReason reason = event.getSpawnReason();
+        final @NotNull ConfigurationSnapshot settings = this.configuration.snapshot();
+        // Only spawns which match a replacement rule, and never the replacements themselves.
+        if (!settings.replacementRules.matches(entity.getType(), reason) || this.spawning) {
+            return;
+        }
+        final boolean transferArmor = this.transferArmor(settings);
+        // Natural spawns were already rolled before the mob was constructed.
+        if (!transferArmor && reason == CreatureSpawnEvent.SpawnReason.NATURAL) {
+            return;
+        }
+        // Only spawn in worlds where a rule can replace spawns.
+        final World world = entity.getWorld();
+        final @NotNull WorldProfile profile = this.worldProfiles.profile(world);
+        if (!profile.replaceSpawns) {
+            return;
+        }
+        final long start = System.nanoTime();
+        final @NotNull SpawnReplacementFlightEvent flightEvent = new SpawnReplacementFlightEvent();
+        flightEvent.begin();
+        try {
+            final Location location = event.getLocation();
+            final @Nullable ReplacementRule rule = settings.replacementRules.select(entity.getType(), reason, profile.environment, world, location);
+            if (rule == null) {
+                return;
+            }
+            final double spawnChance = this.loadGovernor.scaleSpawnChance(settings, this.spawnChance(settings, rule, profile, world, location));
+            flightEvent.setWorld(world, profile.difficulty);
+            flightEvent.rule = rule.name;
+            flightEvent.spawnChance = spawnChance;
+            if (spawnChance <= 0) {
+                flightEvent.outcome = SpawnReplacementFlightEvent.NO_CHANCE;
+                return;
+            }
+            if (this.isCapped(settings, rule, world, location)) {
+                flightEvent.outcome = SpawnReplacementFlightEvent.CAPPED;
+                return;
+            }
+            this.statistics.count(Counter.REPLACEMENT_ATTEMPTS, profile.uid, profile.difficulty, 1L);
+            if (Math.random() >= spawnChance) {
+                flightEvent.outcome = SpawnReplacementFlightEvent.NOT_ROLLED;
+                return;
+            }
+            final @Nullable EntityEquipment equipment = entity.getEquipment();
+            final @Nullable ItemStack held = equipment == null ? null : equipment.getItemInMainHand();
+            // Only a skeleton's own weapon carries over. An empty hand would leave the replacement unarmed.
+            final @Nullable ItemStack mainHand = entity instanceof AbstractSkeleton && held != null && !held.getType().isAir() ? held : rule.skeleton ? BOW : null;
+            final @Nullable ItemStack[] armor = equipment != null && transferArmor ? equipment.getArmorContents() : null;
+            if (!this.replace(settings, rule, reason, world, location, mainHand, armor)) {
+                flightEvent.outcome = SpawnReplacementFlightEvent.QUEUE_FULL;
+                return;
+            }
+            flightEvent.outcome = settings.deferredSpawning ? SpawnReplacementFlightEvent.QUEUED : SpawnReplacementFlightEvent.REPLACED;
+            event.setCancelled(true);
+            this.statistics.count(Counter.REPLACEMENTS, profile.uid, profile.difficulty, 1L);
+            final @NotNull Logger logger = this.plugin.getLogger();
+            if (logger.isLoggable(Level.FINER)) {
+                logger.log(Level.FINER, "[Events] Replaced {0} with {1} at x:{2}, y:{3}, z:{4} in world {5} with a chance of {6}% by rule {7}", new Object[]{entity.getType(), rule.to, location.getX(), location.getY(), location.getZ(), world.getName(), spawnChance * 100, rule.name});
+            }
+        } finally {
+            this.statistics.record(Handler.SPAWN_SKELETON, System.nanoTime() - start);
+            flightEvent.commitIfSet();
+        }
+    }
+
+    // Gets the chance of a rule applying at a location, before load shedding.
+    // The built-in rule uses the configured spawn chances, including world and biome overrides.
+    private double spawnChance(final @NotNull ConfigurationSnapshot settings, final @NotNull ReplacementRule rule, final @NotNull WorldProfile profile, final @NotNull World world, final @NotNull Location location) {
+        return rule.usesSpawnChances() ? settings.spawnChance(settings.cell(profile.cell, world, location)) : rule.chance(profile.difficulty);
+    }
+
+    // Checks whether armor should be transferred, which is skipped while shedding load.
+    private boolean transferArmor(final @NotNull ConfigurationSnapshot settings) {
+        return settings.transferArmor && !this.loadGovernor.isShedding();
+    }
+
+    // Checks whether the archer population caps have been reached at a location. Only archer replacements are capped.
+    private boolean isCapped(final @NotNull ConfigurationSnapshot settings, final @NotNull ReplacementRule rule, final @NotNull World world, final @NotNull Location location) {
+        return settings.archerCaps && rule.archer && this.archerRegistry.isCapped(world, location.getBlockX() >> 4, location.getBlockZ() >> 4, settings.perChunkCap, settings.perWorldCap);
+    }
+
+    // Spawns the replacement now, or queues it while deferred spawning is enabled.
+    // Returns false if the queue is full, in which case the mob should spawn normally.
+    private boolean replace(final @NotNull ConfigurationSnapshot settings, final @NotNull ReplacementRule rule, final @NotNull CreatureSpawnEvent.SpawnReason reason, final @NotNull World world, final @NotNull Location location, final @Nullable ItemStack mainHand, final @Nullable ItemStack[] armor) {
+        if (settings.deferredSpawning) {
+            return this.spawnQueue.offer(settings, rule, reason, location, mainHand, armor);
+        }
+        this.spawnReplacement(rule, reason, world, location, mainHand, armor);
+        return true;
+    }
+
+    // Spawns a queued replacement, unless its chunk was unloaded or the population caps were reached in the meantime.
+    private void spawnQueued(final @NotNull SpawnQueue.SpawnRequest request) {
+        final @Nullable Location location = request.location(this.plugin);
+        if (location == null || this.isCapped(this.configuration.snapshot(), request.rule(), location.getWorld(), location)) {
+            return;
+        }
+        this.spawnReplacement(request.rule(), request.reason(), location.getWorld(), location, request.mainHand(), request.armor());
+    }
+
+    // Spawns the replacement mob of a rule with the given equipment, for the same reason the replaced mob spawned.
+    // Equipment and the archer marker are applied before the entity is added to the world, so the spawn packet
+    // already carries the final state and the archer registry picks the archer up as it is added.
+    private void spawnReplacement(final @NotNull ReplacementRule rule, final @NotNull CreatureSpawnEvent.SpawnReason reason, final @NotNull World world, final @NotNull Location location, final @Nullable ItemStack mainHand, final @Nullable ItemStack[] armor) {
+        this.spawning = true;
+        try {
+            world.spawn(location, rule.entityClass, entity -> {
+                final @Nullable EntityEquipment equipment = entity.getEquipment();
+                if (equipment != null && mainHand != null) {
+                    equipment.setItemInMainHand(mainHand);
+                }
+                if (equipment != null && armor != null) {
+                    equipment.setArmorContents(armor);
+                }
+                if (entity instanceof final WitherSkeleton witherSkeleton) {
+                    this.archerRegistry.mark(witherSkeleton);
+                }
+            }, reason);
+        } finally {
+            this.spawning = false;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package dev.satyrn.archersofdecay.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Records arrows being dropped by a dying wither skeleton.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+@Name("dev.satyrn.archersofdecay.ArrowDrop")
+@Label("Arrow Drop")
+@Description("A wither skeleton archer died and its arrow drop was rolled.")
+public final class ArrowDropFlightEvent extends WorldFlightEvent {
+    /**
+     * The number of arrows dropped, including the Looting bonus.
+     *
+     * @since 1.1.0
+     */
+    @Label("Item Count")
+    public int itemCount;
+
+    /**
+     * The number of arrows dropped due to Looting.
+     *
+     * @since 1.1.0
+     */
+    @Label("Looting Count")
+    public int lootingCount;
+
+    /**
+     * The Looting level of the killing blow.
+     *
+     * @since 1.1.0
+     */
+    @Label("Looting Level")
+    public int lootingLevel;
+
+    /**
+     * Whether the drop was merged with other drops in the same block.
+     *
+     * @since 1.1.0
+     */
+    @Label("Coalesced")
+    public boolean coalesced;
+}
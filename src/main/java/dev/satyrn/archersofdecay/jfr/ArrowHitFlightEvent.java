@@ -0,0 +1,41 @@
+package dev.satyrn.archersofdecay.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Records a lightweight arrow of decay applying its effect.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+@Name("dev.satyrn.archersofdecay.ArrowHit")
+@Label("Arrow Hit")
+@Description("A lightweight arrow of decay hit an entity and applied the wither effect.")
+public final class ArrowHitFlightEvent extends WorldFlightEvent {
+    /**
+     * The type of the entity hit.
+     *
+     * @since 1.1.0
+     */
+    @Label("Entity Type")
+    public @Nullable String entityType;
+
+    /**
+     * The level of the wither effect.
+     *
+     * @since 1.1.0
+     */
+    @Label("Effect Level")
+    public int effectLevel;
+
+    /**
+     * The duration of the wither effect.
+     *
+     * @since 1.1.0
+     */
+    @Label("Effect Duration (Game Ticks)")
+    public int duration;
+}
@@ -0,0 +1,40 @@
+package dev.satyrn.archersofdecay.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Records an arrow fired by a wither skeleton being modified.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+@Name("dev.satyrn.archersofdecay.ArrowShot")
+@Label("Arrow Shot")
+@Description("A wither skeleton fired an arrow which the plugin handled.")
+public final class ArrowShotFlightEvent extends WorldFlightEvent {
+    /**
+     * Whether the arrow was turned into an arrow of decay.
+     *
+     * @since 1.1.0
+     */
+    @Label("Arrow of Decay")
+    public boolean decay;
+
+    /**
+     * Whether the arrow of decay applies its effect on hit instead of carrying potion data.
+     *
+     * @since 1.1.0
+     */
+    @Label("Lightweight")
+    public boolean lightweight;
+
+    /**
+     * Whether vanilla flames were removed from the arrow.
+     *
+     * @since 1.1.0
+     */
+    @Label("Flames Removed")
+    public boolean flamesRemoved;
+}
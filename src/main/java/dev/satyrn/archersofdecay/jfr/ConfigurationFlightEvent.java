@@ -0,0 +1,53 @@
+package dev.satyrn.archersofdecay.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Records the configuration being reloaded or saved.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+@Name("dev.satyrn.archersofdecay.Configuration")
+@Label("Configuration")
+@Description("The plugin configuration was reloaded from or saved to disk.")
+@Category("Archers of Decay")
+@StackTrace(false)
+public final class ConfigurationFlightEvent extends Event {
+    /**
+     * The configuration was reloaded from disk.
+     *
+     * @since 1.1.0
+     */
+    public static final String RELOAD = "reload";
+    /**
+     * The configuration was saved to disk.
+     *
+     * @since 1.1.0
+     */
+    public static final String SAVE = "save";
+
+    /**
+     * The action taken.
+     *
+     * @since 1.1.0
+     */
+    @Label("Action")
+    public @Nullable String action;
+
+    /**
+     * Creates a new configuration event.
+     *
+     * @param action The action taken.
+     * @since 1.1.0
+     */
+    public ConfigurationFlightEvent(final @Nullable String action) {
+        this.action = action;
+    }
+}
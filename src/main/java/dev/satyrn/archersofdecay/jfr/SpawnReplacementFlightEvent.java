@@ -0,0 +1,86 @@
+package dev.satyrn.archersofdecay.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Records a mob spawn being considered for replacement by a replacement rule.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+@Name("dev.satyrn.archersofdecay.SpawnReplacement")
+@Label("Spawn Replacement")
+@Description("A spawning mob matched a replacement rule and was considered for replacement.")
+public final class SpawnReplacementFlightEvent extends WorldFlightEvent {
+    /**
+     * The spawn chance was 0.
+     *
+     * @since 1.1.0
+     */
+    public static final String NO_CHANCE = "no chance";
+    /**
+     * The archer population caps had been reached.
+     *
+     * @since 1.1.0
+     */
+    public static final String CAPPED = "capped";
+    /**
+     * The spawn chance roll failed.
+     *
+     * @since 1.1.0
+     */
+    public static final String NOT_ROLLED = "not rolled";
+    /**
+     * The skeleton was replaced.
+     *
+     * @since 1.1.0
+     */
+    public static final String REPLACED = "replaced";
+    /**
+     * The skeleton was cancelled and the replacement queued.
+     *
+     * @since 1.1.0
+     */
+    public static final String QUEUED = "queued";
+    /**
+     * The spawn queue was full, so the skeleton spawned normally.
+     *
+     * @since 1.1.0
+     */
+    public static final String QUEUE_FULL = "queue full";
+
+    /**
+     * Whether the spawn was handled before the mob was constructed.
+     *
+     * @since 1.1.0
+     */
+    @Label("Pre-Spawn")
+    public boolean preSpawn;
+
+    /**
+     * The name of the replacement rule which applied.
+     *
+     * @since 1.1.0
+     */
+    @Label("Rule")
+    public @Nullable String rule;
+
+    /**
+     * The effective spawn chance.
+     *
+     * @since 1.1.0
+     */
+    @Label("Spawn Chance")
+    public double spawnChance;
+
+    /**
+     * The result of the replacement.
+     *
+     * @since 1.1.0
+     */
+    @Label("Outcome")
+    public @Nullable String outcome;
+}
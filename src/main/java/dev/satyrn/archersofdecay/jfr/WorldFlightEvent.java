@@ -0,0 +1,86 @@
+package dev.satyrn.archersofdecay.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import org.bukkit.Difficulty;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+
+/**
+ * A flight recorder event which happens in a world.
+ * <br>
+ * The plugin's flight recorder events are in the "Archers of Decay" category, and are enabled, disabled or given a
+ * threshold through the usual JFR settings. An event is only committed once its world has been set, so handler calls
+ * for unrelated entities do not show up in recordings.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+@Category("Archers of Decay")
+@StackTrace(false)
+public abstract class WorldFlightEvent extends Event {
+    // The lowercase name of each difficulty, indexed by ordinal.
+    private static final String[] DIFFICULTY_NAMES;
+
+    static {
+        final Difficulty[] difficulties = Difficulty.values();
+        DIFFICULTY_NAMES = new String[difficulties.length];
+        for (final Difficulty difficulty : difficulties) {
+            DIFFICULTY_NAMES[difficulty.ordinal()] = difficulty.name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * The name of the world.
+     *
+     * @since 1.1.0
+     */
+    @Label("World")
+    public @Nullable String world;
+
+    /**
+     * The difficulty of the world.
+     *
+     * @since 1.1.0
+     */
+    @Label("Difficulty")
+    public @Nullable String difficulty;
+
+    /**
+     * Sets the world and difficulty fields, marking the event as concerning the plugin.
+     *
+     * @param world The world.
+     * @since 1.1.0
+     */
+    public void setWorld(final @NotNull World world) {
+        this.setWorld(world, world.getDifficulty());
+    }
+
+    /**
+     * Sets the world and difficulty fields from a difficulty which is already known.
+     *
+     * @param world      The world.
+     * @param difficulty The world difficulty.
+     * @since 1.1.0
+     */
+    public void setWorld(final @NotNull World world, final @NotNull Difficulty difficulty) {
+        this.world = world.getName();
+        this.difficulty = DIFFICULTY_NAMES[difficulty.ordinal()];
+    }
+
+    /**
+     * Commits the event if it concerns the plugin and the event type is enabled.
+     *
+     * @since 1.1.0
+     */
+    public void commitIfSet() {
+        if (this.world != null && this.shouldCommit()) {
+            this.commit();
+        }
+    }
+}
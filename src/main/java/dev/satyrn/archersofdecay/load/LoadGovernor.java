@@ -0,0 +1,132 @@
+package dev.satyrn.archersofdecay.load;
+
+import dev.satyrn.archersofdecay.configuration.Configuration;
+import dev.satyrn.archersofdecay.configuration.ConfigurationSnapshot;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.logging.Level;
+
+/**
+ * Scales back the plugin's work while the server is falling behind.
+ * <br>
+ * Samples the server's average tick time once per second. Load shedding starts once the average reaches the configured
+ * shedding threshold, and only stops once it drops back to the lower recovery threshold, so the governor does not
+ * switch back and forth around a single value.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+public final class LoadGovernor {
+    // The number of ticks between samples.
+    private static final long SAMPLE_PERIOD = 20L;
+
+    // The plugin.
+    private final @NotNull Plugin plugin;
+    // The configuration.
+    private final @NotNull Configuration configuration;
+    // The sampling task, or null while the governor is stopped.
+    private @Nullable BukkitTask task;
+    // Whether load is currently being shed.
+    private volatile boolean shedding;
+    // The most recently sampled average tick time in milliseconds.
+    private volatile double averageTickTime;
+
+    /**
+     * Initializes a new load governor.
+     *
+     * @param plugin        The plugin.
+     * @param configuration The configuration.
+     * @since 1.1.0
+     */
+    public LoadGovernor(final @NotNull Plugin plugin, final @NotNull Configuration configuration) {
+        this.plugin = plugin;
+        this.configuration = configuration;
+    }
+
+    /**
+     * Starts sampling the tick time if load shedding is enabled, or stops it otherwise.
+     *
+     * @since 1.1.0
+     */
+    public void update() {
+        if (this.configuration.snapshot().loadShedding) {
+            if (this.task == null) {
+                this.task = this.plugin.getServer().getScheduler().runTaskTimer(this.plugin, this::sample, SAMPLE_PERIOD, SAMPLE_PERIOD);
+            }
+        } else {
+            this.stop();
+        }
+    }
+
+    /**
+     * Stops sampling the tick time and resumes normal operation.
+     *
+     * @since 1.1.0
+     */
+    public void stop() {
+        if (this.task != null) {
+            this.task.cancel();
+            this.task = null;
+        }
+        this.shedding = false;
+    }
+
+    /**
+     * Whether the governor is currently running.
+     *
+     * @return True if load shedding is enabled and the tick time is being sampled.
+     * @since 1.1.0
+     */
+    public boolean isEnabled() {
+        return this.task != null;
+    }
+
+    /**
+     * Whether load is currently being shed.
+     *
+     * @return True if optional work should be skipped.
+     * @since 1.1.0
+     */
+    public boolean isShedding() {
+        return this.shedding;
+    }
+
+    /**
+     * Gets the most recently sampled average tick time.
+     *
+     * @return The average tick time in milliseconds.
+     * @since 1.1.0
+     */
+    public double getAverageTickTime() {
+        return this.averageTickTime;
+    }
+
+    /**
+     * Applies the current load to a spawn chance.
+     *
+     * @param settings    The current settings.
+     * @param spawnChance The configured spawn chance.
+     * @return The spawn chance to use.
+     * @since 1.1.0
+     */
+    public double scaleSpawnChance(final @NotNull ConfigurationSnapshot settings, final double spawnChance) {
+        return this.shedding ? spawnChance * settings.sheddingSpawnChanceScale : spawnChance;
+    }
+
+    // Samples the average tick time and updates the shedding state.
+    private void sample() {
+        final @NotNull ConfigurationSnapshot settings = this.configuration.snapshot();
+        final double averageTickTime = this.plugin.getServer().getAverageTickTime();
+        this.averageTickTime = averageTickTime;
+        if (!this.shedding && averageTickTime >= settings.sheddingMspt) {
+            this.shedding = true;
+            this.plugin.getLogger().log(Level.INFO, "[Load] Average tick time is {0} ms; scaling back wither skeleton archers.", String.format("%.1f", averageTickTime));
+        } else if (this.shedding && averageTickTime <= settings.recoveryMspt) {
+            this.shedding = false;
+            this.plugin.getLogger().log(Level.INFO, "[Load] Average tick time is {0} ms; resuming normal operation.", String.format("%.1f", averageTickTime));
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package dev.satyrn.archersofdecay.stats;
+
+/**
+ * The events counted per world and difficulty.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+public enum Counter {
+    /**
+     * A skeleton was rolled for replacement.
+     *
+     * @since 1.1.0
+     */
+    REPLACEMENT_ATTEMPTS,
+    /**
+     * A skeleton was replaced with a wither skeleton archer.
+     *
+     * @since 1.1.0
+     */
+    REPLACEMENTS,
+    /**
+     * An arrow fired by a wither skeleton was turned into an arrow of decay.
+     *
+     * @since 1.1.0
+     */
+    DECORATED_ARROWS,
+    /**
+     * Arrows dropped by wither skeletons, including the Looting bonus.
+     *
+     * @since 1.1.0
+     */
+    DROPPED_ARROWS,
+    /**
+     * Arrows dropped by wither skeletons due to Looting.
+     *
+     * @since 1.1.0
+     */
+    LOOTING_ARROWS
+}
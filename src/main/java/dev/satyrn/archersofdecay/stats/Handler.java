@@ -0,0 +1,62 @@
+package dev.satyrn.archersofdecay.stats;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The event handlers which are timed.
+ * Only calls which pass a handler's initial entity type, world and marker checks are timed, so unrelated events are not
+ * counted.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+public enum Handler {
+    /**
+     * Replaces skeletons before they are spawned.
+     *
+     * @since 1.1.0
+     */
+    PRE_SPAWN_SKELETON("onPreSpawnSkeleton"),
+    /**
+     * Replaces skeletons after they are spawned.
+     *
+     * @since 1.1.0
+     */
+    SPAWN_SKELETON("onSpawnSkeleton"),
+    /**
+     * Applies arrow effects to fired arrows.
+     *
+     * @since 1.1.0
+     */
+    SHOOT_ARROW("onWitherSkeletonShootArrow"),
+    /**
+     * Applies the wither effect from lightweight arrows.
+     *
+     * @since 1.1.0
+     */
+    ARROW_HIT("onDecayArrowHit"),
+    /**
+     * Drops arrows from dying wither skeletons.
+     *
+     * @since 1.1.0
+     */
+    DEATH("onWitherSkeletonDeath");
+
+    // The name shown in the statistics.
+    private final @NotNull String displayName;
+
+    // Creates a new handler constant.
+    Handler(final @NotNull String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Gets the name shown in the statistics.
+     *
+     * @return The name of the handler method.
+     * @since 1.1.0
+     */
+    public @NotNull String getDisplayName() {
+        return this.displayName;
+    }
+}
@@ -0,0 +1,165 @@
+package dev.satyrn.archersofdecay.stats;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of durations in nanoseconds with a fixed set of buckets.
+ * <br>
+ * Each power of two is split into eight buckets, so a reported percentile is at most 12.5% above the true value.
+ * Recording a duration only increments existing counters and never allocates.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+public final class LatencyHistogram {
+    // The number of buckets per power of two, as a power of two.
+    private static final int SUB_BUCKET_BITS = 3;
+    // The number of buckets per power of two.
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // The total number of buckets, covering every non-negative long.
+    private static final int BUCKETS = SUB_BUCKETS + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    // The number of durations in each bucket.
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    // The number of recorded durations.
+    private final LongAdder count = new LongAdder();
+    // The sum of the recorded durations.
+    private final LongAdder total = new LongAdder();
+    // The longest recorded duration.
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos The duration in nanoseconds. Negative values are recorded as 0.
+     * @since 1.1.0
+     */
+    public void record(final long nanos) {
+        final long value = Math.max(nanos, 0L);
+        this.buckets.incrementAndGet(bucket(value));
+        this.count.increment();
+        this.total.add(value);
+        this.max.accumulate(value);
+    }
+
+    /**
+     * Gets the number of recorded durations.
+     *
+     * @return The count.
+     * @since 1.1.0
+     */
+    public long count() {
+        return this.count.sum();
+    }
+
+    /**
+     * Gets the sum of the recorded durations.
+     *
+     * @return The total in nanoseconds.
+     * @since 1.1.0
+     */
+    public long total() {
+        return this.total.sum();
+    }
+
+    /**
+     * Gets the longest recorded duration.
+     *
+     * @return The maximum in nanoseconds.
+     * @since 1.1.0
+     */
+    public long max() {
+        return this.max.get();
+    }
+
+    /**
+     * Estimates a percentile of the recorded durations.
+     *
+     * @param quantile The percentile, between 0 and 1.
+     * @return The upper bound of the bucket holding the percentile in nanoseconds, or 0 if nothing was recorded.
+     * @since 1.1.0
+     */
+    public long percentile(final double quantile) {
+        final long[] counts = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = this.buckets.get(i);
+            count += counts[i];
+        }
+        if (count == 0) {
+            return 0L;
+        }
+        final long rank = Math.max(1L, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), this.max());
+            }
+        }
+        return this.max();
+    }
+
+    /**
+     * Counts the recorded durations at or below each of the given bounds.
+     * <br>
+     * A bucket is only counted towards a bound once its largest value is at or below the bound, so a count may miss
+     * part of a bucket straddling the bound.
+     *
+     * @param bounds The bounds in nanoseconds, in ascending order.
+     * @return The cumulative count for each bound.
+     * @since 1.1.0
+     */
+    public long[] cumulativeCounts(final long[] bounds) {
+        final long[] counts = new long[bounds.length];
+        int bound = 0;
+        long seen = 0;
+        for (int i = 0; i < BUCKETS && bound < bounds.length; i++) {
+            while (bound < bounds.length && upperBound(i) > bounds[bound]) {
+                counts[bound++] = seen;
+            }
+            seen += this.buckets.get(i);
+        }
+        while (bound < bounds.length) {
+            counts[bound++] = seen;
+        }
+        return counts;
+    }
+
+    /**
+     * Clears the histogram.
+     *
+     * @since 1.1.0
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            this.buckets.set(i, 0L);
+        }
+        this.count.reset();
+        this.total.reset();
+        this.max.reset();
+    }
+
+    // Gets the bucket holding a non-negative value.
+    private static int bucket(final long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        final int exponent = 63 - Long.numberOfLeadingZeros(value);
+        final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + (exponent - SUB_BUCKET_BITS) * SUB_BUCKETS + subBucket;
+    }
+
+    // Gets the largest value held by a bucket.
+    private static long upperBound(final int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        final int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+        final long subBucket = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        final long lowerBound = (SUB_BUCKETS + subBucket) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+}
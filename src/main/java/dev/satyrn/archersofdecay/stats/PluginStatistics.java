@@ -0,0 +1,151 @@
+package dev.satyrn.archersofdecay.stats;
+
+import org.bukkit.Difficulty;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects counters and handler timings for the plugin.
+ * <br>
+ * Counters are kept per world and difficulty in striped {@link LongAdder}s, and each event handler has a
+ * {@link LatencyHistogram}. Once a world has been seen, recording a value never allocates.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+public final class PluginStatistics {
+    // The counters, in order.
+    private static final Counter[] COUNTERS = Counter.values();
+    // The handlers, in order.
+    private static final Handler[] HANDLERS = Handler.values();
+    // The difficulties, in order.
+    private static final Difficulty[] DIFFICULTIES = Difficulty.values();
+
+    // The counters of each world, keyed by world UID, indexed by counter and then difficulty.
+    private final @NotNull Map<UUID, LongAdder[]> worldCounters = new ConcurrentHashMap<>();
+    // The timings of each handler, indexed by handler.
+    private final @NotNull LatencyHistogram[] handlerTimings = new LatencyHistogram[HANDLERS.length];
+    // The time at which the statistics were last reset.
+    private volatile long startTime = System.nanoTime();
+
+    /**
+     * Initializes a new set of statistics.
+     *
+     * @since 1.1.0
+     */
+    public PluginStatistics() {
+        for (int i = 0; i < this.handlerTimings.length; i++) {
+            this.handlerTimings[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Adds to a counter for a world at a known difficulty.
+     *
+     * @param counter    The counter.
+     * @param world      The world UID.
+     * @param difficulty The world difficulty.
+     * @param amount     The amount to add.
+     * @since 1.1.0
+     */
+    public void count(final @NotNull Counter counter, final @NotNull UUID world, final @NotNull Difficulty difficulty, final long amount) {
+        @Nullable LongAdder[] counters = this.worldCounters.get(world);
+        if (counters == null) {
+            counters = this.worldCounters.computeIfAbsent(world, PluginStatistics::createCounters);
+        }
+        counters[index(counter, difficulty)].add(amount);
+    }
+
+    /**
+     * Records the time taken by an event handler.
+     *
+     * @param handler The handler.
+     * @param nanos   The time taken in nanoseconds.
+     * @since 1.1.0
+     */
+    public void record(final @NotNull Handler handler, final long nanos) {
+        this.handlerTimings[handler.ordinal()].record(nanos);
+    }
+
+    /**
+     * Gets the timings of an event handler.
+     *
+     * @param handler The handler.
+     * @return The histogram.
+     * @since 1.1.0
+     */
+    public @NotNull LatencyHistogram timings(final @NotNull Handler handler) {
+        return this.handlerTimings[handler.ordinal()];
+    }
+
+    /**
+     * Gets the current counter values of every world seen since the last reset.
+     *
+     * @return The counter values, keyed by world UID and then difficulty.
+     * @since 1.1.0
+     */
+    public @NotNull Map<UUID, Map<Difficulty, Map<Counter, Long>>> counters() {
+        final @NotNull Map<UUID, Map<Difficulty, Map<Counter, Long>>> result = new LinkedHashMap<>();
+        for (final Map.Entry<UUID, LongAdder[]> entry : this.worldCounters.entrySet()) {
+            final @NotNull Map<Difficulty, Map<Counter, Long>> difficulties = new EnumMap<>(Difficulty.class);
+            for (final Difficulty difficulty : DIFFICULTIES) {
+                final @NotNull Map<Counter, Long> values = new EnumMap<>(Counter.class);
+                long sum = 0;
+                for (final Counter counter : COUNTERS) {
+                    final long value = entry.getValue()[index(counter, difficulty)].sum();
+                    values.put(counter, value);
+                    sum += value;
+                }
+                if (sum > 0) {
+                    difficulties.put(difficulty, values);
+                }
+            }
+            result.put(entry.getKey(), difficulties);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the time elapsed since the statistics were last reset.
+     *
+     * @return The elapsed time in nanoseconds.
+     * @since 1.1.0
+     */
+    public long elapsed() {
+        return System.nanoTime() - this.startTime;
+    }
+
+    /**
+     * Clears every counter and timing.
+     *
+     * @since 1.1.0
+     */
+    public void reset() {
+        this.worldCounters.clear();
+        for (final LatencyHistogram histogram : this.handlerTimings) {
+            histogram.reset();
+        }
+        this.startTime = System.nanoTime();
+    }
+
+    // Gets the index of a counter at a difficulty.
+    private static int index(final @NotNull Counter counter, final @NotNull Difficulty difficulty) {
+        return counter.ordinal() * DIFFICULTIES.length + difficulty.ordinal();
+    }
+
+    // Creates the counters for a newly seen world.
+    private static @NotNull LongAdder[] createCounters(final @NotNull UUID world) {
+        final @NotNull LongAdder[] counters = new LongAdder[COUNTERS.length * DIFFICULTIES.length];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+        return counters;
+    }
+}
@@ -0,0 +1,223 @@
+package dev.satyrn.archersofdecay.stats;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import dev.satyrn.archersofdecay.configuration.Configuration;
+import dev.satyrn.archersofdecay.configuration.ConfigurationSnapshot;
+import dev.satyrn.archersofdecay.entity.ArcherRegistry;
+import org.bukkit.Difficulty;
+import org.bukkit.World;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+
+/**
+ * Serves the plugin statistics over HTTP in the Prometheus text format.
+ * <br>
+ * The response body is rendered on the main thread every few seconds and published as a byte array. Scrapes are
+ * answered from that array on the exporter's own thread, so they never wait for or touch the main thread.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+public final class PrometheusExporter {
+    // The number of ticks between snapshots.
+    private static final long SNAPSHOT_PERIOD = 100L;
+    // The content type of the Prometheus text format.
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    // The prefix of every metric name.
+    private static final String PREFIX = "archersofdecay_";
+    // The upper bounds of the handler duration buckets in nanoseconds.
+    private static final long[] DURATION_BOUNDS = {
+            1_000L, 2_500L, 5_000L, 10_000L, 25_000L, 50_000L, 100_000L, 250_000L, 500_000L,
+            1_000_000L, 2_500_000L, 5_000_000L, 10_000_000L
+    };
+
+    // The plugin.
+    private final @NotNull Plugin plugin;
+    // The configuration.
+    private final @NotNull Configuration configuration;
+    // The plugin statistics.
+    private final @NotNull PluginStatistics statistics;
+    // The registry of converted archers.
+    private final @NotNull ArcherRegistry archerRegistry;
+    // The HTTP server, or null while the exporter is stopped.
+    private @Nullable HttpServer server;
+    // The thread serving scrapes, or null while the exporter is stopped.
+    private @Nullable ExecutorService executor;
+    // The snapshot task, or null while the exporter is stopped.
+    private @Nullable BukkitTask task;
+    // The address the server is bound to.
+    private @Nullable InetSocketAddress boundAddress;
+    // The most recently rendered response body.
+    private volatile byte[] body = new byte[0];
+
+    /**
+     * Initializes a new exporter.
+     *
+     * @param plugin         The plugin.
+     * @param configuration  The configuration.
+     * @param statistics     The plugin statistics.
+     * @param archerRegistry The registry of converted archers.
+     * @since 1.1.0
+     */
+    public PrometheusExporter(final @NotNull Plugin plugin, final @NotNull Configuration configuration, final @NotNull PluginStatistics statistics, final @NotNull ArcherRegistry archerRegistry) {
+        this.plugin = plugin;
+        this.configuration = configuration;
+        this.statistics = statistics;
+        this.archerRegistry = archerRegistry;
+    }
+
+    /**
+     * Starts the exporter if it is enabled, restarting it if its address changed, or stops it otherwise.
+     *
+     * @since 1.1.0
+     */
+    public void update() {
+        final @NotNull ConfigurationSnapshot settings = this.configuration.snapshot();
+        if (!settings.prometheus) {
+            this.stop();
+            return;
+        }
+        final @NotNull InetSocketAddress address = new InetSocketAddress(settings.prometheusAddress, settings.prometheusPort);
+        if (this.server != null && address.equals(this.boundAddress)) {
+            return;
+        }
+        this.stop();
+        try {
+            final @NotNull HttpServer httpServer = HttpServer.create(address, 0);
+            final @NotNull ExecutorService httpExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                final @NotNull Thread thread = new Thread(runnable, this.plugin.getName() + " Prometheus Exporter");
+                thread.setDaemon(true);
+                return thread;
+            });
+            httpServer.createContext("/metrics", this::handle);
+            httpServer.setExecutor(httpExecutor);
+            this.render();
+            httpServer.start();
+            this.server = httpServer;
+            this.executor = httpExecutor;
+            this.boundAddress = address;
+            this.task = this.plugin.getServer().getScheduler().runTaskTimer(this.plugin, this::render, SNAPSHOT_PERIOD, SNAPSHOT_PERIOD);
+            this.plugin.getLogger().log(Level.INFO, "[Prometheus] Serving statistics at http://{0}:{1}/metrics", new Object[]{settings.prometheusAddress, String.valueOf(settings.prometheusPort)});
+        } catch (IOException | IllegalArgumentException ex) {
+            this.plugin.getLogger().log(Level.WARNING, "[Prometheus] Could not listen on " + settings.prometheusAddress + ":" + settings.prometheusPort + "; the exporter is disabled.", ex);
+        }
+    }
+
+    /**
+     * Stops the exporter.
+     *
+     * @since 1.1.0
+     */
+    public void stop() {
+        if (this.task != null) {
+            this.task.cancel();
+            this.task = null;
+        }
+        if (this.server != null) {
+            this.server.stop(0);
+            this.server = null;
+        }
+        if (this.executor != null) {
+            this.executor.shutdownNow();
+            this.executor = null;
+        }
+        this.boundAddress = null;
+    }
+
+    // Answers a scrape with the most recently rendered body.
+    private void handle(final @NotNull HttpExchange exchange) throws IOException {
+        try {
+            final @NotNull String method = exchange.getRequestMethod();
+            if (!"GET".equals(method) && !"HEAD".equals(method)) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            final byte[] response = this.body;
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            if ("HEAD".equals(method)) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(response);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    // Renders the statistics into a new response body.
+    private void render() {
+        final @NotNull StringBuilder builder = new StringBuilder(4096);
+        final @NotNull Map<UUID, Map<Difficulty, Map<Counter, Long>>> counters = this.statistics.counters();
+        for (final Counter counter : Counter.values()) {
+            final @NotNull String name = PREFIX + counter.name().toLowerCase(Locale.ROOT) + "_total";
+            builder.append("# TYPE ").append(name).append(" counter\n");
+            for (final Map.Entry<UUID, Map<Difficulty, Map<Counter, Long>>> worldEntry : counters.entrySet()) {
+                final @NotNull String world = this.worldName(worldEntry.getKey());
+                for (final Map.Entry<Difficulty, Map<Counter, Long>> difficultyEntry : worldEntry.getValue().entrySet()) {
+                    builder.append(name).append("{world=\"").append(escape(world))
+                            .append("\",difficulty=\"").append(difficultyEntry.getKey().name().toLowerCase(Locale.ROOT))
+                            .append("\"} ").append(difficultyEntry.getValue().get(counter)).append('\n');
+                }
+            }
+        }
+
+        final @NotNull String durationName = PREFIX + "handler_duration_seconds";
+        builder.append("# TYPE ").append(durationName).append(" histogram\n");
+        for (final Handler handler : Handler.values()) {
+            final @NotNull LatencyHistogram timings = this.statistics.timings(handler);
+            final @NotNull String label = "handler=\"" + handler.getDisplayName() + "\"";
+            final long count = timings.count();
+            final long[] cumulative = timings.cumulativeCounts(DURATION_BOUNDS);
+            for (int i = 0; i < DURATION_BOUNDS.length; i++) {
+                builder.append(durationName).append("_bucket{").append(label).append(",le=\"")
+                        .append(seconds(DURATION_BOUNDS[i])).append("\"} ").append(Math.min(cumulative[i], count)).append('\n');
+            }
+            builder.append(durationName).append("_bucket{").append(label).append(",le=\"+Inf\"} ").append(count).append('\n');
+            builder.append(durationName).append("_sum{").append(label).append("} ").append(seconds(timings.total())).append('\n');
+            builder.append(durationName).append("_count{").append(label).append("} ").append(count).append('\n');
+        }
+
+        if (this.configuration.snapshot().trackArchers) {
+            final @NotNull String archersName = PREFIX + "archers";
+            builder.append("# TYPE ").append(archersName).append(" gauge\n");
+            for (final World world : this.plugin.getServer().getWorlds()) {
+                builder.append(archersName).append("{world=\"").append(escape(world.getName())).append("\"} ")
+                        .append(this.archerRegistry.size(world)).append('\n');
+            }
+        }
+        this.body = builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Gets the name of a world, or its UID if it is no longer loaded.
+    private @NotNull String worldName(final @NotNull UUID uid) {
+        final @Nullable World world = this.plugin.getServer().getWorld(uid);
+        return world == null ? uid.toString() : world.getName();
+    }
+
+    // Formats a duration in nanoseconds as seconds.
+    private static @NotNull String seconds(final long nanos) {
+        return Double.toString(nanos / 1_000_000_000D);
+    }
+
+    // Escapes a label value.
+    private static @NotNull String escape(final @NotNull String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,176 @@
+package dev.satyrn.archersofdecay.util;
+
+import java.util.Arrays;
+
+/**
+ * A set of primitive int values, backed by an open-addressed table with linear probing.
+ * <br>
+ * Values are never boxed, so lookups, insertions and removals do not allocate unless the table has to grow.
+ * Not thread safe.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+public final class IntHashSet {
+    // Marks a free slot in the table. The free value itself is tracked separately.
+    private static final int FREE = 0;
+    // The smallest table size.
+    private static final int MIN_CAPACITY = 16;
+
+    // The table of values.
+    private int[] table;
+    // Mask for converting hashes to table indexes.
+    private int mask;
+    // The number of values in the table, excluding the free value.
+    private int size;
+    // Whether the set contains the free value.
+    private boolean containsFree;
+
+    /**
+     * Creates a new empty set.
+     *
+     * @since 1.1.0
+     */
+    public IntHashSet() {
+        this.table = new int[MIN_CAPACITY];
+        this.mask = MIN_CAPACITY - 1;
+    }
+
+    /**
+     * Checks whether the set contains a value.
+     *
+     * @param value The value.
+     * @return True if the value is in the set.
+     * @since 1.1.0
+     */
+    public boolean contains(final int value) {
+        if (value == FREE) {
+            return this.containsFree;
+        }
+        int index = mix(value) & this.mask;
+        int current;
+        while ((current = this.table[index]) != FREE) {
+            if (current == value) {
+                return true;
+            }
+            index = (index + 1) & this.mask;
+        }
+        return false;
+    }
+
+    /**
+     * Adds a value to the set.
+     *
+     * @param value The value.
+     * @return True if the value was not already in the set.
+     * @since 1.1.0
+     */
+    public boolean add(final int value) {
+        if (value == FREE) {
+            final boolean added = !this.containsFree;
+            this.containsFree = true;
+            return added;
+        }
+        int index = mix(value) & this.mask;
+        int current;
+        while ((current = this.table[index]) != FREE) {
+            if (current == value) {
+                return false;
+            }
+            index = (index + 1) & this.mask;
+        }
+        this.table[index] = value;
+        if (++this.size > (this.table.length >> 1)) {
+            this.rehash(this.table.length << 1);
+        }
+        return true;
+    }
+
+    /**
+     * Removes a value from the set.
+     *
+     * @param value The value.
+     * @return True if the value was in the set.
+     * @since 1.1.0
+     */
+    public boolean remove(final int value) {
+        if (value == FREE) {
+            final boolean removed = this.containsFree;
+            this.containsFree = false;
+            return removed;
+        }
+        int index = mix(value) & this.mask;
+        int current;
+        while ((current = this.table[index]) != FREE) {
+            if (current == value) {
+                this.shiftBack(index);
+                this.size--;
+                return true;
+            }
+            index = (index + 1) & this.mask;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the number of values in the set.
+     *
+     * @return The size of the set.
+     * @since 1.1.0
+     */
+    public int size() {
+        return this.containsFree ? this.size + 1 : this.size;
+    }
+
+    /**
+     * Removes every value from the set.
+     *
+     * @since 1.1.0
+     */
+    public void clear() {
+        Arrays.fill(this.table, FREE);
+        this.size = 0;
+        this.containsFree = false;
+    }
+
+    // Moves entries following a removed slot back so that probe sequences stay unbroken.
+    private void shiftBack(int gap) {
+        int index = gap;
+        while (true) {
+            index = (index + 1) & this.mask;
+            final int current = this.table[index];
+            if (current == FREE) {
+                break;
+            }
+            final int home = mix(current) & this.mask;
+            // Only move entries whose home slot is not between the gap and their current slot.
+            if (((index - home) & this.mask) >= ((index - gap) & this.mask)) {
+                this.table[gap] = current;
+                gap = index;
+            }
+        }
+        this.table[gap] = FREE;
+    }
+
+    // Resizes the table.
+    private void rehash(final int capacity) {
+        final int[] oldTable = this.table;
+        this.table = new int[capacity];
+        this.mask = capacity - 1;
+        for (final int value : oldTable) {
+            if (value != FREE) {
+                int index = mix(value) & this.mask;
+                while (this.table[index] != FREE) {
+                    index = (index + 1) & this.mask;
+                }
+                this.table[index] = value;
+            }
+        }
+    }
+
+    // Spreads sequential values across the table.
+    private static int mix(final int value) {
+        final int hash = value * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
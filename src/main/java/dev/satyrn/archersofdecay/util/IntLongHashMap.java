@@ -0,0 +1,213 @@
+package dev.satyrn.archersofdecay.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A map of primitive int keys to primitive long values, backed by an open-addressed table with linear probing.
+ * <br>
+ * Keys and values are never boxed, so lookups, insertions and removals do not allocate unless the table has to grow.
+ * Not thread safe.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+public final class IntLongHashMap {
+    // Marks a free slot in the table. The free key itself is tracked separately.
+    private static final int FREE = 0;
+    // The smallest table size.
+    private static final int MIN_CAPACITY = 16;
+
+    // The table of keys.
+    private int[] keys;
+    // The table of values.
+    private long[] values;
+    // Mask for converting hashes to table indexes.
+    private int mask;
+    // The number of entries in the table, excluding the free key.
+    private int size;
+    // Whether the map contains the free key.
+    private boolean containsFree;
+    // The value for the free key.
+    private long freeValue;
+
+    /**
+     * Creates a new empty map.
+     *
+     * @since 1.1.0
+     */
+    public IntLongHashMap() {
+        this.keys = new int[MIN_CAPACITY];
+        this.values = new long[MIN_CAPACITY];
+        this.mask = MIN_CAPACITY - 1;
+    }
+
+    /**
+     * Checks whether the map contains a key.
+     *
+     * @param key The key.
+     * @return True if the key is in the map.
+     * @since 1.1.0
+     */
+    public boolean containsKey(final int key) {
+        if (key == FREE) {
+            return this.containsFree;
+        }
+        int index = mix(key) & this.mask;
+        int current;
+        while ((current = this.keys[index]) != FREE) {
+            if (current == key) {
+                return true;
+            }
+            index = (index + 1) & this.mask;
+        }
+        return false;
+    }
+
+    /**
+     * Associates a value with a key.
+     *
+     * @param key   The key.
+     * @param value The value.
+     * @return True if the key was not already in the map.
+     * @since 1.1.0
+     */
+    public boolean put(final int key, final long value) {
+        if (key == FREE) {
+            final boolean added = !this.containsFree;
+            this.containsFree = true;
+            this.freeValue = value;
+            return added;
+        }
+        int index = mix(key) & this.mask;
+        int current;
+        while ((current = this.keys[index]) != FREE) {
+            if (current == key) {
+                this.values[index] = value;
+                return false;
+            }
+            index = (index + 1) & this.mask;
+        }
+        this.keys[index] = key;
+        this.values[index] = value;
+        if (++this.size > (this.keys.length >> 1)) {
+            this.rehash(this.keys.length << 1);
+        }
+        return true;
+    }
+
+    /**
+     * Removes a key from the map.
+     *
+     * @param key          The key.
+     * @param missingValue The value to return if the key is not in the map.
+     * @return The value which was associated with the key, or the missing value.
+     * @since 1.1.0
+     */
+    public long remove(final int key, final long missingValue) {
+        if (key == FREE) {
+            if (!this.containsFree) {
+                return missingValue;
+            }
+            this.containsFree = false;
+            return this.freeValue;
+        }
+        int index = mix(key) & this.mask;
+        int current;
+        while ((current = this.keys[index]) != FREE) {
+            if (current == key) {
+                final long value = this.values[index];
+                this.shiftBack(index);
+                this.size--;
+                return value;
+            }
+            index = (index + 1) & this.mask;
+        }
+        return missingValue;
+    }
+
+    /**
+     * Gets the number of keys in the map.
+     *
+     * @return The size of the map.
+     * @since 1.1.0
+     */
+    public int size() {
+        return this.containsFree ? this.size + 1 : this.size;
+    }
+
+    /**
+     * Performs an action for each key in the map.
+     *
+     * @param action The action.
+     * @since 1.1.0
+     */
+    public void forEachKey(final @NotNull IntConsumer action) {
+        if (this.containsFree) {
+            action.accept(FREE);
+        }
+        for (final int key : this.keys) {
+            if (key != FREE) {
+                action.accept(key);
+            }
+        }
+    }
+
+    /**
+     * Removes every entry from the map.
+     *
+     * @since 1.1.0
+     */
+    public void clear() {
+        Arrays.fill(this.keys, FREE);
+        this.size = 0;
+        this.containsFree = false;
+    }
+
+    // Moves entries following a removed slot back so that probe sequences stay unbroken.
+    private void shiftBack(int gap) {
+        int index = gap;
+        while (true) {
+            index = (index + 1) & this.mask;
+            final int current = this.keys[index];
+            if (current == FREE) {
+                break;
+            }
+            final int home = mix(current) & this.mask;
+            // Only move entries whose home slot is not between the gap and their current slot.
+            if (((index - home) & this.mask) >= ((index - gap) & this.mask)) {
+                this.keys[gap] = current;
+                this.values[gap] = this.values[index];
+                gap = index;
+            }
+        }
+        this.keys[gap] = FREE;
+    }
+
+    // Resizes the table.
+    private void rehash(final int capacity) {
+        final int[] oldKeys = this.keys;
+        final long[] oldValues = this.values;
+        this.keys = new int[capacity];
+        this.values = new long[capacity];
+        this.mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                int index = mix(oldKeys[i]) & this.mask;
+                while (this.keys[index] != FREE) {
+                    index = (index + 1) & this.mask;
+                }
+                this.keys[index] = oldKeys[i];
+                this.values[index] = oldValues[i];
+            }
+        }
+    }
+
+    // Spreads sequential keys across the table.
+    private static int mix(final int key) {
+        final int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
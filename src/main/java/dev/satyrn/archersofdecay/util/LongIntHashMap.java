@@ -0,0 +1,168 @@
+package dev.satyrn.archersofdecay.util;
+
+import java.util.Arrays;
+
+/**
+ * A map of primitive long keys to primitive int counts, backed by an open-addressed table with linear probing.
+ * <br>
+ * Keys are never boxed, so lookups and updates do not allocate unless the table has to grow. Entries whose count drops
+ * to zero are removed. Not thread safe.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+public final class LongIntHashMap {
+    // Marks a free slot in the table. The free key itself is tracked separately.
+    private static final long FREE = 0L;
+    // The smallest table size.
+    private static final int MIN_CAPACITY = 16;
+
+    // The table of keys.
+    private long[] keys;
+    // The table of counts.
+    private int[] values;
+    // Mask for converting hashes to table indexes.
+    private int mask;
+    // The number of entries in the table, excluding the free key.
+    private int size;
+    // The count for the free key, or 0 if the free key is not in the map.
+    private int freeValue;
+
+    /**
+     * Creates a new empty map.
+     *
+     * @since 1.1.0
+     */
+    public LongIntHashMap() {
+        this.keys = new long[MIN_CAPACITY];
+        this.values = new int[MIN_CAPACITY];
+        this.mask = MIN_CAPACITY - 1;
+    }
+
+    /**
+     * Gets the count for a key.
+     *
+     * @param key The key.
+     * @return The count, or 0 if the key is not in the map.
+     * @since 1.1.0
+     */
+    public int get(final long key) {
+        if (key == FREE) {
+            return this.freeValue;
+        }
+        int index = mix(key) & this.mask;
+        long current;
+        while ((current = this.keys[index]) != FREE) {
+            if (current == key) {
+                return this.values[index];
+            }
+            index = (index + 1) & this.mask;
+        }
+        return 0;
+    }
+
+    /**
+     * Adds to the count for a key. The entry is removed once its count reaches zero or below.
+     *
+     * @param key   The key.
+     * @param delta The amount to add.
+     * @return The new count.
+     * @since 1.1.0
+     */
+    public int add(final long key, final int delta) {
+        if (key == FREE) {
+            this.freeValue = Math.max(0, this.freeValue + delta);
+            return this.freeValue;
+        }
+        int index = mix(key) & this.mask;
+        long current;
+        while ((current = this.keys[index]) != FREE) {
+            if (current == key) {
+                final int value = this.values[index] + delta;
+                if (value <= 0) {
+                    this.shiftBack(index);
+                    this.size--;
+                    return 0;
+                }
+                this.values[index] = value;
+                return value;
+            }
+            index = (index + 1) & this.mask;
+        }
+        if (delta <= 0) {
+            return 0;
+        }
+        this.keys[index] = key;
+        this.values[index] = delta;
+        if (++this.size > (this.keys.length >> 1)) {
+            this.rehash(this.keys.length << 1);
+        }
+        return delta;
+    }
+
+    /**
+     * Gets the number of keys in the map.
+     *
+     * @return The size of the map.
+     * @since 1.1.0
+     */
+    public int size() {
+        return this.freeValue > 0 ? this.size + 1 : this.size;
+    }
+
+    /**
+     * Removes every entry from the map.
+     *
+     * @since 1.1.0
+     */
+    public void clear() {
+        Arrays.fill(this.keys, FREE);
+        this.size = 0;
+        this.freeValue = 0;
+    }
+
+    // Moves entries following a removed slot back so that probe sequences stay unbroken.
+    private void shiftBack(int gap) {
+        int index = gap;
+        while (true) {
+            index = (index + 1) & this.mask;
+            final long current = this.keys[index];
+            if (current == FREE) {
+                break;
+            }
+            final int home = mix(current) & this.mask;
+            // Only move entries whose home slot is not between the gap and their current slot.
+            if (((index - home) & this.mask) >= ((index - gap) & this.mask)) {
+                this.keys[gap] = current;
+                this.values[gap] = this.values[index];
+                gap = index;
+            }
+        }
+        this.keys[gap] = FREE;
+    }
+
+    // Resizes the table.
+    private void rehash(final int capacity) {
+        final long[] oldKeys = this.keys;
+        final int[] oldValues = this.values;
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                int index = mix(oldKeys[i]) & this.mask;
+                while (this.keys[index] != FREE) {
+                    index = (index + 1) & this.mask;
+                }
+                this.keys[index] = oldKeys[i];
+                this.values[index] = oldValues[i];
+            }
+        }
+    }
+
+    // Spreads keys across the table.
+    private static int mix(final long key) {
+        final long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
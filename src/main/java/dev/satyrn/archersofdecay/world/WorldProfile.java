@@ -0,0 +1,76 @@
+package dev.satyrn.archersofdecay.world;
+
+import dev.satyrn.archersofdecay.configuration.ConfigurationSnapshot;
+import org.bukkit.Difficulty;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+/**
+ * The settings of a single world, resolved against a configuration snapshot at the world's current difficulty.
+ * <br>
+ * Event handlers read a world's environment, difficulty and settings cell through its profile instead of querying the
+ * world for every event. Profiles are replaced whenever the world's difficulty or the configuration changes.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+public final class WorldProfile {
+    // The snapshot the profile was resolved against.
+    final @NotNull ConfigurationSnapshot settings;
+
+    /**
+     * The world UID.
+     *
+     * @since 1.1.0
+     */
+    public final @NotNull UUID uid;
+
+    /**
+     * The world difficulty at the time the profile was resolved.
+     *
+     * @since 1.1.0
+     */
+    public final @NotNull Difficulty difficulty;
+
+    /**
+     * The environment of the world.
+     *
+     * @since 1.1.0
+     */
+    public final @NotNull World.Environment environment;
+
+    /**
+     * Whether any replacement rule can replace a spawn in the world, which requires a rule for the world's environment
+     * with a chance above zero at its difficulty.
+     *
+     * @since 1.1.0
+     */
+    public final boolean replaceSpawns;
+
+    /**
+     * The settings cell of the world at its difficulty, before any biome override. Pass to
+     * {@link ConfigurationSnapshot#cell(int, World, org.bukkit.Location)} to find the cell at a location.
+     *
+     * @since 1.1.0
+     */
+    public final int cell;
+
+    /**
+     * Resolves the profile of a world.
+     *
+     * @param world    The world.
+     * @param settings The current settings.
+     * @since 1.1.0
+     */
+    WorldProfile(final @NotNull World world, final @NotNull ConfigurationSnapshot settings) {
+        this.settings = settings;
+        this.uid = world.getUID();
+        this.difficulty = world.getDifficulty();
+        this.environment = world.getEnvironment();
+        final int worldSlot = settings.worldSlot(world);
+        this.replaceSpawns = settings.replacementRules.anyChance(this.environment, this.difficulty, settings.anySpawnChance(worldSlot, this.difficulty));
+        this.cell = settings.cell(worldSlot, 0, this.difficulty);
+    }
+}
@@ -0,0 +1,141 @@
+package dev.satyrn.archersofdecay.world;
+
+import dev.satyrn.archersofdecay.configuration.Configuration;
+import dev.satyrn.archersofdecay.configuration.ConfigurationSnapshot;
+import org.bukkit.World;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Level;
+
+/**
+ * Keeps the profile of every loaded world.
+ * <br>
+ * Profiles are built as worlds load and dropped as they unload. The server raises no event when a world's difficulty
+ * changes, so the difficulty of each loaded world is checked once per second and its profile rebuilt if it changed.
+ * A profile resolved against an older configuration snapshot is rebuilt the first time it is looked up after the
+ * configuration is recompiled. Must only be used from the main thread.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+public final class WorldProfiles implements Listener {
+    // The number of ticks between difficulty checks.
+    private static final long CHECK_PERIOD = 20L;
+
+    // The plugin.
+    private final @NotNull Plugin plugin;
+    // The configuration.
+    private final @NotNull Configuration configuration;
+    // The profile of each loaded world, keyed by world UID.
+    private final @NotNull Map<UUID, WorldProfile> profiles = new HashMap<>();
+    // The difficulty check task, or null while the profiles are not kept.
+    private @Nullable BukkitTask task;
+
+    /**
+     * Initializes a new set of world profiles.
+     *
+     * @param plugin        The plugin.
+     * @param configuration The configuration.
+     * @since 1.1.0
+     */
+    public WorldProfiles(final @NotNull Plugin plugin, final @NotNull Configuration configuration) {
+        this.plugin = plugin;
+        this.configuration = configuration;
+    }
+
+    /**
+     * Rebuilds the profile of every loaded world against the current configuration and starts checking for difficulty
+     * changes. Should be called again whenever the configuration is recompiled.
+     *
+     * @since 1.1.0
+     */
+    public void update() {
+        this.profiles.clear();
+        for (final World world : this.plugin.getServer().getWorlds()) {
+            this.rebuild(world);
+        }
+        if (this.task == null) {
+            this.task = this.plugin.getServer().getScheduler().runTaskTimer(this.plugin, this::checkDifficulties, CHECK_PERIOD, CHECK_PERIOD);
+        }
+    }
+
+    /**
+     * Stops checking for difficulty changes and drops every profile.
+     *
+     * @since 1.1.0
+     */
+    public void stop() {
+        if (this.task != null) {
+            this.task.cancel();
+            this.task = null;
+        }
+        this.profiles.clear();
+    }
+
+    /**
+     * Gets the profile of a world, building it if the world has not been seen or the configuration has changed since.
+     *
+     * @param world The world.
+     * @return The profile.
+     * @since 1.1.0
+     */
+    public @NotNull WorldProfile profile(final @NotNull World world) {
+        final @Nullable WorldProfile profile = this.profiles.get(world.getUID());
+        if (profile != null && profile.settings == this.configuration.snapshot()) {
+            return profile;
+        }
+        return this.rebuild(world);
+    }
+
+    /**
+     * Builds the profile of a newly loaded world.
+     *
+     * @param event The event.
+     * @since 1.1.0
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldLoad(final @NotNull WorldLoadEvent event) {
+        this.rebuild(event.getWorld());
+    }
+
+    /**
+     * Drops the profile of a world when it is unloaded.
+     *
+     * @param event The event.
+     * @since 1.1.0
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(final @NotNull WorldUnloadEvent event) {
+        this.profiles.remove(event.getWorld().getUID());
+    }
+
+    // Rebuilds the profile of each loaded world whose difficulty has changed.
+    private void checkDifficulties() {
+        for (final World world : this.plugin.getServer().getWorlds()) {
+            final @Nullable WorldProfile profile = this.profiles.get(world.getUID());
+            if (profile != null && profile.difficulty != world.getDifficulty()) {
+                this.plugin.getLogger().log(Level.FINE, "[Worlds] Difficulty of world {0} changed to {1}.", new Object[]{world.getName(), world.getDifficulty()});
+                this.rebuild(world);
+            }
+        }
+    }
+
+    // Resolves and stores the profile of a world.
+    private @NotNull WorldProfile rebuild(final @NotNull World world) {
+        final @NotNull ConfigurationSnapshot settings = this.configuration.snapshot();
+        final @NotNull WorldProfile profile = new WorldProfile(world, settings);
+        this.profiles.put(profile.uid, profile);
+        return profile;
+    }
+}
@@ -0,0 +1,175 @@
+package dev.satyrn.archersofdecay.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link IntHashSet}.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+class IntHashSetTest {
+    // The size of a new table, which holds up to half as many values before it grows.
+    private static final int MIN_CAPACITY = 16;
+
+    @Test
+    void addsAndRemovesValues() {
+        final @NotNull IntHashSet set = new IntHashSet();
+        assertTrue(set.add(42));
+        assertFalse(set.add(42));
+        assertTrue(set.add(-7));
+        assertTrue(set.contains(42));
+        assertTrue(set.contains(-7));
+        assertFalse(set.contains(7));
+        assertEquals(2, set.size());
+
+        assertTrue(set.remove(42));
+        assertFalse(set.remove(42));
+        assertFalse(set.contains(42));
+        assertTrue(set.contains(-7));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    void holdsTheFreeValue() {
+        final @NotNull IntHashSet set = new IntHashSet();
+        assertFalse(set.contains(0));
+        assertTrue(set.add(0));
+        assertFalse(set.add(0));
+        assertTrue(set.contains(0));
+        assertEquals(1, set.size());
+        assertTrue(set.remove(0));
+        assertFalse(set.remove(0));
+        assertEquals(0, set.size());
+    }
+
+    @Test
+    void keepsCollisionChainsIntactOnRemoval() {
+        final int[] values = valuesWithHome(3, 6);
+        final @NotNull IntHashSet set = new IntHashSet();
+        for (final int value : values) {
+            assertTrue(set.add(value));
+        }
+        // Removing from the middle of the chain must not hide the values probed past it.
+        assertTrue(set.remove(values[2]));
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(i != 2, set.contains(values[i]));
+        }
+        assertTrue(set.remove(values[0]));
+        assertTrue(set.remove(values[5]));
+        assertTrue(set.contains(values[1]));
+        assertTrue(set.contains(values[3]));
+        assertTrue(set.contains(values[4]));
+        assertEquals(3, set.size());
+
+        assertTrue(set.add(values[2]));
+        assertTrue(set.contains(values[2]));
+        assertEquals(4, set.size());
+    }
+
+    @Test
+    void wrapsAroundTheEndOfTheTable() {
+        final int[] last = valuesWithHome(MIN_CAPACITY - 1, 4);
+        final int[] first = valuesWithHome(0, 2);
+        final @NotNull IntHashSet set = new IntHashSet();
+        // The values homed in the last slot spill over into the start of the table, ahead of the values homed there.
+        for (final int value : last) {
+            set.add(value);
+        }
+        for (final int value : first) {
+            set.add(value);
+        }
+        assertTrue(set.remove(last[0]));
+        assertTrue(set.remove(last[2]));
+        assertFalse(set.contains(last[0]));
+        assertFalse(set.contains(last[2]));
+        assertTrue(set.contains(last[1]));
+        assertTrue(set.contains(last[3]));
+        assertTrue(set.contains(first[0]));
+        assertTrue(set.contains(first[1]));
+        assertTrue(set.remove(first[0]));
+        assertTrue(set.contains(first[1]));
+        assertEquals(3, set.size());
+    }
+
+    @Test
+    void growsAsValuesAreAdded() {
+        final @NotNull IntHashSet set = new IntHashSet();
+        for (int value = -5000; value < 5000; value++) {
+            assertTrue(set.add(value));
+        }
+        assertEquals(10000, set.size());
+        for (int value = -5000; value < 5000; value++) {
+            assertTrue(set.contains(value));
+        }
+        for (int value = -5000; value < 5000; value += 2) {
+            assertTrue(set.remove(value));
+        }
+        assertEquals(5000, set.size());
+        for (int value = -5000; value < 5000; value++) {
+            assertEquals((value & 1) != 0, set.contains(value));
+        }
+    }
+
+    @Test
+    void clearsEveryValue() {
+        final @NotNull IntHashSet set = new IntHashSet();
+        for (int value = 0; value < 100; value++) {
+            set.add(value);
+        }
+        set.clear();
+        assertEquals(0, set.size());
+        for (int value = 0; value < 100; value++) {
+            assertFalse(set.contains(value));
+        }
+        assertTrue(set.add(5));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    void matchesHashSet() {
+        final @NotNull SplittableRandom random = new SplittableRandom(0L);
+        final @NotNull IntHashSet set = new IntHashSet();
+        final @NotNull Set<Integer> expected = new HashSet<>();
+        // A narrow range keeps the set dense, so most removals land inside probe chains.
+        for (int i = 0; i < 200000; i++) {
+            final int value = random.nextInt(-512, 512);
+            switch (random.nextInt(3)) {
+                case 0 -> assertEquals(expected.add(value), set.add(value));
+                case 1 -> assertEquals(expected.remove(value), set.remove(value));
+                default -> assertEquals(expected.contains(value), set.contains(value));
+            }
+            assertEquals(expected.size(), set.size());
+        }
+        for (int value = -512; value < 512; value++) {
+            assertEquals(expected.contains(value), set.contains(value));
+        }
+    }
+
+    // Finds values whose home slot in a new table is the given slot.
+    private static int[] valuesWithHome(final int home, final int count) {
+        final int[] values = new int[count];
+        int found = 0;
+        for (int value = 1; found < count; value++) {
+            if ((mix(value) & (MIN_CAPACITY - 1)) == home) {
+                values[found++] = value;
+            }
+        }
+        return values;
+    }
+
+    // The hash the set uses to place values.
+    private static int mix(final int value) {
+        final int hash = value * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
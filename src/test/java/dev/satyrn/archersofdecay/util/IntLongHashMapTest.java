@@ -0,0 +1,188 @@
+package dev.satyrn.archersofdecay.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link IntLongHashMap}.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+class IntLongHashMapTest {
+    // The size of a new table, which holds up to half as many entries before it grows.
+    private static final int MIN_CAPACITY = 16;
+    // The value returned for missing keys.
+    private static final long MISSING = -1L;
+
+    @Test
+    void putsAndRemovesEntries() {
+        final @NotNull IntLongHashMap map = new IntLongHashMap();
+        assertTrue(map.put(42, 1L));
+        assertFalse(map.put(42, 2L));
+        assertTrue(map.put(-7, 3L));
+        assertTrue(map.containsKey(42));
+        assertFalse(map.containsKey(7));
+        assertEquals(2, map.size());
+
+        assertEquals(2L, map.remove(42, MISSING));
+        assertEquals(MISSING, map.remove(42, MISSING));
+        assertFalse(map.containsKey(42));
+        assertEquals(3L, map.remove(-7, MISSING));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void holdsTheFreeKey() {
+        final @NotNull IntLongHashMap map = new IntLongHashMap();
+        assertFalse(map.containsKey(0));
+        assertEquals(MISSING, map.remove(0, MISSING));
+        assertTrue(map.put(0, 5L));
+        assertFalse(map.put(0, 6L));
+        assertTrue(map.containsKey(0));
+        assertEquals(1, map.size());
+        assertEquals(6L, map.remove(0, MISSING));
+        assertFalse(map.containsKey(0));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void keepsCollisionChainsIntactOnRemoval() {
+        final int[] keys = keysWithHome(3, 6);
+        final @NotNull IntLongHashMap map = new IntLongHashMap();
+        for (int i = 0; i < keys.length; i++) {
+            assertTrue(map.put(keys[i], i));
+        }
+        // Removing from the middle of the chain must not hide the entries probed past it, or split them from their values.
+        assertEquals(2L, map.remove(keys[2], MISSING));
+        assertEquals(0L, map.remove(keys[0], MISSING));
+        assertFalse(map.containsKey(keys[2]));
+        assertFalse(map.containsKey(keys[0]));
+        for (final int i : new int[]{1, 3, 4, 5}) {
+            assertEquals(i, map.remove(keys[i], MISSING));
+            assertTrue(map.put(keys[i], i));
+        }
+        assertEquals(4, map.size());
+    }
+
+    @Test
+    void wrapsAroundTheEndOfTheTable() {
+        final int[] last = keysWithHome(MIN_CAPACITY - 1, 4);
+        final int[] first = keysWithHome(0, 2);
+        final @NotNull IntLongHashMap map = new IntLongHashMap();
+        // The keys homed in the last slot spill over into the start of the table, ahead of the keys homed there.
+        for (int i = 0; i < last.length; i++) {
+            map.put(last[i], 10L + i);
+        }
+        for (int i = 0; i < first.length; i++) {
+            map.put(first[i], 20L + i);
+        }
+        assertEquals(10L, map.remove(last[0], MISSING));
+        assertEquals(12L, map.remove(last[2], MISSING));
+        assertEquals(11L, map.remove(last[1], MISSING));
+        assertEquals(13L, map.remove(last[3], MISSING));
+        assertEquals(20L, map.remove(first[0], MISSING));
+        assertEquals(21L, map.remove(first[1], MISSING));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void growsAsEntriesAreAdded() {
+        final @NotNull IntLongHashMap map = new IntLongHashMap();
+        for (int key = -5000; key < 5000; key++) {
+            assertTrue(map.put(key, key * 3L));
+        }
+        assertEquals(10000, map.size());
+        for (int key = -5000; key < 5000; key += 2) {
+            assertEquals(key * 3L, map.remove(key, MISSING));
+        }
+        assertEquals(5000, map.size());
+        for (int key = -5000; key < 5000; key++) {
+            assertEquals((key & 1) != 0, map.containsKey(key));
+        }
+    }
+
+    @Test
+    void visitsEveryKey() {
+        final @NotNull IntLongHashMap map = new IntLongHashMap();
+        final @NotNull Set<Integer> expected = new HashSet<>();
+        for (int key = -50; key <= 50; key++) {
+            map.put(key, key);
+            expected.add(key);
+        }
+        final @NotNull Set<Integer> visited = new HashSet<>();
+        map.forEachKey(key -> assertTrue(visited.add(key)));
+        assertEquals(expected, visited);
+    }
+
+    @Test
+    void clearsEveryEntry() {
+        final @NotNull IntLongHashMap map = new IntLongHashMap();
+        for (int key = 0; key < 100; key++) {
+            map.put(key, key);
+        }
+        map.clear();
+        assertEquals(0, map.size());
+        for (int key = 0; key < 100; key++) {
+            assertFalse(map.containsKey(key));
+        }
+        map.forEachKey(key -> {
+            throw new AssertionError("Visited key " + key + " after clearing.");
+        });
+    }
+
+    @Test
+    void matchesHashMap() {
+        final @NotNull SplittableRandom random = new SplittableRandom(0L);
+        final @NotNull IntLongHashMap map = new IntLongHashMap();
+        final @NotNull Map<Integer, Long> expected = new HashMap<>();
+        // A narrow range keeps the map dense, so most removals land inside probe chains.
+        for (int i = 0; i < 200000; i++) {
+            final int key = random.nextInt(-512, 512);
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    final long value = random.nextLong();
+                    assertEquals(expected.put(key, value) == null, map.put(key, value));
+                }
+                case 1 -> {
+                    final Long removed = expected.remove(key);
+                    assertEquals(removed == null ? MISSING : removed, map.remove(key, MISSING));
+                }
+                default -> assertEquals(expected.containsKey(key), map.containsKey(key));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (int key = -512; key < 512; key++) {
+            final Long value = expected.get(key);
+            assertEquals(value == null ? MISSING : value, map.remove(key, MISSING));
+        }
+    }
+
+    // Finds keys whose home slot in a new table is the given slot.
+    private static int[] keysWithHome(final int home, final int count) {
+        final int[] keys = new int[count];
+        int found = 0;
+        for (int key = 1; found < count; key++) {
+            if ((mix(key) & (MIN_CAPACITY - 1)) == home) {
+                keys[found++] = key;
+            }
+        }
+        return keys;
+    }
+
+    // The hash the map uses to place keys.
+    private static int mix(final int key) {
+        final int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,170 @@
+package dev.satyrn.archersofdecay.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests {@link LongIntHashMap}.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.0
+ */
+class LongIntHashMapTest {
+    // The size of a new table, which holds up to half as many entries before it grows.
+    private static final int MIN_CAPACITY = 16;
+
+    @Test
+    void addsAndRemovesCounts() {
+        final @NotNull LongIntHashMap map = new LongIntHashMap();
+        assertEquals(2, map.add(42L, 2));
+        assertEquals(5, map.add(42L, 3));
+        assertEquals(1, map.add(-7L, 1));
+        assertEquals(5, map.get(42L));
+        assertEquals(0, map.get(7L));
+        assertEquals(2, map.size());
+
+        assertEquals(4, map.add(42L, -1));
+        assertEquals(0, map.add(42L, -4));
+        assertEquals(0, map.get(42L));
+        assertEquals(1, map.size());
+        // Removing from a missing key leaves it missing.
+        assertEquals(0, map.add(7L, -1));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void holdsTheFreeKey() {
+        final @NotNull LongIntHashMap map = new LongIntHashMap();
+        assertEquals(0, map.add(0L, -1));
+        assertEquals(0, map.size());
+        assertEquals(3, map.add(0L, 3));
+        assertEquals(3, map.get(0L));
+        assertEquals(1, map.size());
+        assertEquals(0, map.add(0L, -5));
+        assertEquals(0, map.get(0L));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void keepsCollisionChainsIntactOnRemoval() {
+        final long[] keys = keysWithHome(3, 6);
+        final @NotNull LongIntHashMap map = new LongIntHashMap();
+        for (int i = 0; i < keys.length; i++) {
+            map.add(keys[i], i + 1);
+        }
+        // Dropping an entry from the middle of the chain must not hide the entries probed past it.
+        assertEquals(0, map.add(keys[2], -3));
+        assertEquals(0, map.add(keys[0], -1));
+        assertEquals(0, map.get(keys[2]));
+        assertEquals(0, map.get(keys[0]));
+        for (final int i : new int[]{1, 3, 4, 5}) {
+            assertEquals(i + 1, map.get(keys[i]));
+        }
+        assertEquals(4, map.size());
+        assertEquals(7, map.add(keys[2], 7));
+        assertEquals(5, map.size());
+    }
+
+    @Test
+    void wrapsAroundTheEndOfTheTable() {
+        final long[] last = keysWithHome(MIN_CAPACITY - 1, 4);
+        final long[] first = keysWithHome(0, 2);
+        final @NotNull LongIntHashMap map = new LongIntHashMap();
+        // The keys homed in the last slot spill over into the start of the table, ahead of the keys homed there.
+        for (int i = 0; i < last.length; i++) {
+            map.add(last[i], 10 + i);
+        }
+        for (int i = 0; i < first.length; i++) {
+            map.add(first[i], 20 + i);
+        }
+        assertEquals(0, map.add(last[0], -10));
+        assertEquals(0, map.add(last[2], -12));
+        assertEquals(11, map.get(last[1]));
+        assertEquals(13, map.get(last[3]));
+        assertEquals(20, map.get(first[0]));
+        assertEquals(21, map.get(first[1]));
+        assertEquals(0, map.add(first[0], -20));
+        assertEquals(21, map.get(first[1]));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    void growsAsEntriesAreAdded() {
+        final @NotNull LongIntHashMap map = new LongIntHashMap();
+        for (long key = -5000L; key < 5000L; key++) {
+            map.add(key << 32 | (key & 0xFFFFFFFFL), 1);
+        }
+        assertEquals(10000, map.size());
+        for (long key = -5000L; key < 5000L; key += 2) {
+            assertEquals(0, map.add(key << 32 | (key & 0xFFFFFFFFL), -1));
+        }
+        assertEquals(5000, map.size());
+        for (long key = -5000L; key < 5000L; key++) {
+            assertEquals((key & 1L) != 0L ? 1 : 0, map.get(key << 32 | (key & 0xFFFFFFFFL)));
+        }
+    }
+
+    @Test
+    void clearsEveryEntry() {
+        final @NotNull LongIntHashMap map = new LongIntHashMap();
+        for (long key = 0L; key < 100L; key++) {
+            map.add(key, 1);
+        }
+        map.clear();
+        assertEquals(0, map.size());
+        for (long key = 0L; key < 100L; key++) {
+            assertEquals(0, map.get(key));
+        }
+    }
+
+    @Test
+    void matchesHashMap() {
+        final @NotNull SplittableRandom random = new SplittableRandom(0L);
+        final @NotNull LongIntHashMap map = new LongIntHashMap();
+        final @NotNull Map<Long, Integer> expected = new HashMap<>();
+        // A narrow range keeps the map dense, so most removals land inside probe chains.
+        for (int i = 0; i < 200000; i++) {
+            final long key = random.nextInt(-512, 512);
+            if (random.nextInt(3) == 0) {
+                assertEquals((int) expected.getOrDefault(key, 0), map.get(key));
+            } else {
+                final int delta = random.nextInt(-3, 4);
+                final int count = expected.getOrDefault(key, 0) + delta;
+                if (count > 0) {
+                    expected.put(key, count);
+                } else {
+                    expected.remove(key);
+                }
+                assertEquals(Math.max(0, count), map.add(key, delta));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (long key = -512L; key < 512L; key++) {
+            assertEquals((int) expected.getOrDefault(key, 0), map.get(key));
+        }
+    }
+
+    // Finds keys whose home slot in a new table is the given slot.
+    private static long[] keysWithHome(final int home, final int count) {
+        final long[] keys = new long[count];
+        int found = 0;
+        for (long key = 1L; found < count; key++) {
+            if ((mix(key) & (MIN_CAPACITY - 1)) == home) {
+                keys[found++] = key;
+            }
+        }
+        return keys;
+    }
+
+    // The hash the map uses to place keys.
+    private static int mix(final long key) {
+        final long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+}